@@ -0,0 +1,39 @@
+package com.holyplay.benchmarks;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Dados sintéticos determinísticos: a mesma semente gera sempre as mesmas entradas,
+ * para que resultados de execuções diferentes sejam comparáveis
+ */
+final class Fixtures {
+
+    static final long SEED = 42L;
+    static final String JWT_SECRET = "holyplay-benchmark-secret-key-with-at-least-256-bits!!";
+
+    private static final String[] WORDS = {
+            "Louvor", "Pregação", "Estudo", "Culto", "Testemunho", "Oração", "Salmos", "Evangelho",
+            "Família", "Jovens", "Fé", "Graça", "Esperança", "Adoração", "Missões", "Discipulado"
+    };
+
+    private Fixtures() {}
+
+    static String videoId(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    static String title(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    static String description(Random random) {
+        StringBuilder text = new StringBuilder();
+        int words = 20 + random.nextInt(60);
+        for (int i = 0; i < words; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)].toLowerCase());
+        }
+        return text.append('.').toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.holyplay.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holyplay.api.home.dto.HomePageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson da resposta da home em tamanhos realistas
+ * (seções × vídeos por seção), com o ObjectMapper configurado como no Spring Boot
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class HomePageSerializationBenchmark {
+
+    @Param({"4", "10"})
+    public int sections;
+
+    @Param({"12", "40"})
+    public int videosPerSection;
+
+    private ObjectMapper objectMapper;
+    private HomePageResponse response;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Random random = new Random(Fixtures.SEED);
+
+        List<HomePageResponse.HomeSectionResponse> list = new ArrayList<>(sections);
+        for (int s = 0; s < sections; s++) {
+            List<HomePageResponse.HomeVideoResponse> videos = new ArrayList<>(videosPerSection);
+            for (int v = 0; v < videosPerSection; v++) {
+                String videoId = Fixtures.videoId(random);
+                HomePageResponse.HomeVideoResponse video = new HomePageResponse.HomeVideoResponse(
+                        videoId,
+                        Fixtures.title(random),
+                        Fixtures.description(random),
+                        "/api/videos/" + videoId + "/thumbnail?w=480&v=a1b2c3d4e5f6",
+                        60 + random.nextInt(5400),
+                        (long) random.nextInt(500_000),
+                        "Pregações",
+                        random.nextInt(5) == 0,
+                        s == 0
+                );
+                video.setThumbnailWidth(1280);
+                video.setThumbnailHeight(720);
+                videos.add(video);
+            }
+            list.add(new HomePageResponse.HomeSectionResponse("section-" + s, Fixtures.title(random), videos));
+        }
+        response = new HomePageResponse(list);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
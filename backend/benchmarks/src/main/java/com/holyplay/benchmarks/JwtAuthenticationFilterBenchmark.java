@@ -0,0 +1,70 @@
+package com.holyplay.benchmarks;
+
+import com.holyplay.config.JwtAuthenticationFilter;
+import com.holyplay.domain.user.Role;
+import com.holyplay.domain.user.User;
+import com.holyplay.infrastructure.auth.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho do JwtAuthenticationFilter por requisição: com token válido (parse, authorities,
+ * SecurityContext) e sem token (requisições públicas)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String bearer;
+
+    @Setup
+    public void setup() {
+        JwtService jwtService = new JwtService(Fixtures.JWT_SECRET, 24);
+        filter = new JwtAuthenticationFilter(jwtService);
+        User user = new User(42L, "Maria Souza", "maria@holyplay.com.br", "hash", Role.ADMIN,
+                true, LocalDateTime.of(2024, 1, 1, 0, 0));
+        bearer = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", bearer);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/home/configurations/home-page");
+        filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+        return request;
+    }
+}
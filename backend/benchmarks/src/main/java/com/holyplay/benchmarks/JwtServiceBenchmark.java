@@ -0,0 +1,53 @@
+package com.holyplay.benchmarks;
+
+import com.holyplay.domain.user.Role;
+import com.holyplay.domain.user.User;
+import com.holyplay.infrastructure.auth.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e leitura de tokens JWT (login e toda requisição autenticada)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(Fixtures.JWT_SECRET, 24);
+        user = new User(42L, "Maria Souza", "maria@holyplay.com.br", "hash", Role.ADMIN,
+                true, LocalDateTime.of(2024, 1, 1, 0, 0));
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims extractClaims() {
+        return jwtService.extractClaims(token);
+    }
+}
@@ -0,0 +1,125 @@
+package com.holyplay.benchmarks;
+
+import com.holyplay.domain.user.User;
+import com.holyplay.domain.video.VideoCategory;
+import com.holyplay.infrastructure.user.UserJdbcRepository;
+import com.holyplay.infrastructure.video.VideoCategoryJdbcRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RowMappers de usuários e categorias lendo um ResultSet em memória (CachedRowSet do JDK),
+ * isolando o custo de mapeamento do custo de rede e do driver
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class RowMapperBenchmark {
+
+    @Param({"100"})
+    public int rows;
+
+    private RowMapper<User> userMapper;
+    private RowMapper<VideoCategory> categoryMapper;
+    private CachedRowSet users;
+    private CachedRowSet categories;
+
+    @Setup
+    public void setup() throws Exception {
+        userMapper = staticMapper(UserJdbcRepository.class, "USER_MAPPER");
+        categoryMapper = staticMapper(VideoCategoryJdbcRepository.class, "CATEGORY_MAPPER");
+
+        Random random = new Random(Fixtures.SEED);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        users = rowSet(new String[] {"id", "name", "email", "password", "role", "active", "created_at"},
+                new int[] {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP});
+        for (int i = 0; i < rows; i++) {
+            users.moveToInsertRow();
+            users.updateLong(1, i + 1);
+            users.updateString(2, Fixtures.title(random));
+            users.updateString(3, "usuario" + i + "@holyplay.com.br");
+            users.updateString(4, "$2a$10$" + Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()));
+            users.updateString(5, i % 10 == 0 ? "admin" : "user");
+            users.updateBoolean(6, true);
+            users.updateTimestamp(7, createdAt);
+            users.insertRow();
+        }
+        users.moveToCurrentRow();
+
+        categories = rowSet(new String[] {"id", "name", "slug", "created_at"},
+                new int[] {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP});
+        for (int i = 0; i < rows; i++) {
+            categories.moveToInsertRow();
+            categories.updateLong(1, i + 1);
+            categories.updateString(2, Fixtures.title(random));
+            categories.updateString(3, "categoria-" + i);
+            categories.updateTimestamp(4, createdAt);
+            categories.insertRow();
+        }
+        categories.moveToCurrentRow();
+    }
+
+    @Benchmark
+    public void mapUsers(Blackhole blackhole) throws SQLException {
+        map(users, userMapper, blackhole);
+    }
+
+    @Benchmark
+    public void mapCategories(Blackhole blackhole) throws SQLException {
+        map(categories, categoryMapper, blackhole);
+    }
+
+    private static <T> void map(CachedRowSet rowSet, RowMapper<T> mapper, Blackhole blackhole) throws SQLException {
+        rowSet.beforeFirst();
+        int rowNum = 0;
+        while (rowSet.next()) {
+            blackhole.consume(mapper.mapRow(rowSet, rowNum++));
+        }
+    }
+
+    private static CachedRowSet rowSet(String[] columns, int[] types) throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            metaData.setColumnName(i + 1, columns[i]);
+            metaData.setColumnLabel(i + 1, columns[i]);
+            metaData.setColumnType(i + 1, types[i]);
+        }
+        CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.setMetaData(metaData);
+        return rowSet;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> RowMapper<T> staticMapper(Class<?> owner, String field) throws ReflectiveOperationException {
+        Field mapper = owner.getDeclaredField(field);
+        mapper.setAccessible(true);
+        return (RowMapper<T>) mapper.get(null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.holyplay.benchmarks;
+
+import com.holyplay.api.video.VideoDescriptionController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VideoDescriptionController.slugify (sem acesso público, chamado via MethodHandle resolvido uma vez)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class SlugifyBenchmark {
+
+    @Param({"Louvor", "Pregações e Estudos Bíblicos", "Série: A Fé que Move Montanhas — Episódio 12 (Legendado)"})
+    public String name;
+
+    private MethodHandle slugify;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(VideoDescriptionController.class, MethodHandles.lookup());
+        slugify = lookup.findStatic(VideoDescriptionController.class, "slugify",
+                MethodType.methodType(String.class, String.class));
+    }
+
+    @Benchmark
+    public String slugify() throws Throwable {
+        return (String) slugify.invokeExact(name);
+    }
+}
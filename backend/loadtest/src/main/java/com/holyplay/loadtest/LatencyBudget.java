@@ -0,0 +1,51 @@
+package com.holyplay.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Orçamento de um cenário: limite de percentil (ms) ou de taxa de erros.
+ * Formato: cenario.metrica=limite, separados por vírgula; "*" vale para todos os cenários.
+ * Métricas: p50-ms, p99-ms, p999-ms, error-rate.
+ */
+record LatencyBudget(String scenario, String metric, double limit) {
+
+    static List<LatencyBudget> parse(String value) {
+        List<LatencyBudget> budgets = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=", 2);
+            int dot = parts[0].lastIndexOf('.');
+            if (parts.length != 2 || dot <= 0) {
+                throw new IllegalArgumentException("Entrada inválida em loadtest.budgets: " + entry);
+            }
+            String metric = parts[0].substring(dot + 1).trim().toLowerCase(Locale.ROOT);
+            if (!metric.equals("p50-ms") && !metric.equals("p99-ms") && !metric.equals("p999-ms") && !metric.equals("error-rate")) {
+                throw new IllegalArgumentException("Métrica desconhecida em loadtest.budgets: " + metric);
+            }
+            budgets.add(new LatencyBudget(parts[0].substring(0, dot).trim(), metric, Double.parseDouble(parts[1].trim())));
+        }
+        return budgets;
+    }
+
+    boolean appliesTo(String scenarioName) {
+        return scenario.equals("*") || scenario.equals(scenarioName);
+    }
+
+    double measure(ScenarioStats.Summary summary) {
+        return switch (metric) {
+            case "p50-ms" -> summary.p50Ms();
+            case "p99-ms" -> summary.p99Ms();
+            case "p999-ms" -> summary.p999Ms();
+            default -> summary.errorRate();
+        };
+    }
+
+    @Override
+    public String toString() {
+        return scenario + "." + metric + "=" + (metric.equals("error-rate") ? String.valueOf(limit) : String.valueOf((long) limit));
+    }
+}
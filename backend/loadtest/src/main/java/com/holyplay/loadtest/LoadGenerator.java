@@ -0,0 +1,119 @@
+package com.holyplay.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em modelo aberto: as requisições saem em ritmo fixo (rps), independente
+ * de quanto a aplicação demora para responder, como acontece com tráfego real.
+ * Se a aplicação não acompanha, as requisições em voo se acumulam até loadtest.max-in-flight;
+ * acima disso a requisição é contada como erro "dropped".
+ */
+final class LoadGenerator {
+
+    private final HttpClient client;
+    private final List<Scenario> scenarios;
+    private final Map<String, ScenarioStats> stats;
+    private final ScenarioStats total;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final int maxInFlight;
+    private final SplittableRandom random;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadGenerator(HttpClient client, List<Scenario> scenarios, Map<String, ScenarioStats> stats, ScenarioStats total,
+                  int maxInFlight, long seed) {
+        this.client = client;
+        this.scenarios = new ArrayList<>(scenarios);
+        this.stats = stats;
+        this.total = total;
+        this.maxInFlight = maxInFlight;
+        this.random = new SplittableRandom(seed);
+        this.cumulativeWeights = new int[scenarios.size()];
+        int sum = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            sum += scenarios.get(i).weight();
+            cumulativeWeights[i] = sum;
+        }
+        this.totalWeight = sum;
+    }
+
+    /**
+     * Dispara requisições na taxa pedida durante o tempo indicado e espera as que ficaram em voo.
+     * Retorna a duração do disparo em segundos (sem a espera final), base do req/s do relatório.
+     */
+    double run(int rps, long durationSeconds) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long count = rps * durationSeconds;
+        long start = System.nanoTime();
+
+        for (long i = 0; i < count; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(pick(), intended);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        return elapsedSeconds;
+    }
+
+    private Scenario pick() {
+        int roll = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private void fire(Scenario scenario, long intendedStart) {
+        ScenarioStats scenarioStats = stats.get(scenario.name());
+        if (inFlight.get() >= maxInFlight) {
+            recordError(scenarioStats, System.nanoTime() - intendedStart, "dropped");
+            return;
+        }
+        HttpRequest request = scenario.requests().apply(random);
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intendedStart;
+                    inFlight.decrementAndGet();
+                    if (error != null) {
+                        recordError(scenarioStats, latency, errorKind(error));
+                    } else if (response.statusCode() >= 400) {
+                        recordError(scenarioStats, latency, "http-" + response.statusCode());
+                    } else {
+                        scenarioStats.recordSuccess(latency);
+                        total.recordSuccess(latency);
+                    }
+                });
+    }
+
+    private void recordError(ScenarioStats scenarioStats, long latency, String kind) {
+        scenarioStats.recordError(latency, kind);
+        total.recordError(latency, kind);
+    }
+
+    private static String errorKind(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+}
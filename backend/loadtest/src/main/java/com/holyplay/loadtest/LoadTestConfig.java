@@ -0,0 +1,90 @@
+package com.holyplay.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos das propriedades de sistema (-Dloadtest.*)
+ */
+final class LoadTestConfig {
+
+    final int rps;
+    final int warmupSeconds;
+    final int durationSeconds;
+    final Map<String, Integer> mix;
+    final List<LatencyBudget> budgets;
+    final int videos;
+    final int users;
+    final long seed;
+    final int maxInFlight;
+    final int requestTimeoutMs;
+    final String datasourceUrl;
+    final String datasourceUsername;
+    final String datasourcePassword;
+    final Path report;
+    final Path workDir;
+    final List<String> appArgs;
+
+    private LoadTestConfig(String[] args) {
+        rps = Integer.getInteger("loadtest.rps", 200);
+        warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 20);
+        durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        mix = parseMix(System.getProperty("loadtest.mix",
+                "home=55,library=15,description=10,thumbnail=8,categories=4,videos-with-categories=3,login=5"));
+        budgets = LatencyBudget.parse(System.getProperty("loadtest.budgets", ""));
+        videos = Integer.getInteger("loadtest.videos", 2000);
+        users = Integer.getInteger("loadtest.users", 50);
+        seed = Long.getLong("loadtest.seed", 42L);
+        maxInFlight = Integer.getInteger("loadtest.max-in-flight", 2000);
+        requestTimeoutMs = Integer.getInteger("loadtest.request-timeout-ms", 10000);
+        datasourceUrl = System.getProperty("loadtest.datasource.url", "").trim();
+        datasourceUsername = System.getProperty("loadtest.datasource.username", "postgres");
+        datasourcePassword = System.getProperty("loadtest.datasource.password", "");
+        report = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        workDir = Path.of(System.getProperty("loadtest.work-dir", "target/loadtest"));
+
+        // Argumentos livres viram propriedades da aplicação (chave=valor → --chave=valor)
+        appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.isBlank()) {
+                appArgs.add(arg.startsWith("--") ? arg : "--" + arg);
+            }
+        }
+
+        if (rps <= 0 || durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("loadtest.rps e loadtest.duration-seconds devem ser positivos");
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix não tem nenhum cenário com peso positivo");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties(String[] args) {
+        return new LoadTestConfig(args);
+    }
+
+    boolean embeddedDatabase() {
+        return datasourceUrl.isEmpty();
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida em loadtest.mix: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        return weights;
+    }
+}
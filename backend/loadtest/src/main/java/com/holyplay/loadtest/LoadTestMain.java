@@ -0,0 +1,75 @@
+package com.holyplay.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Teste de carga ponta a ponta: sobe Postgres, aplicação e simulador da Bunny,
+ * aquece, mede o mix configurado e sai com código 1 se algum orçamento estourar.
+ * Uso: mvn -f backend/loadtest/pom.xml verify -Dloadtest.rps=300 (ver README.md)
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {}
+
+    public static void main(String[] args) {
+        int exitCode;
+        try {
+            exitCode = run(LoadTestConfig.fromSystemProperties(args));
+        } catch (Exception e) {
+            System.err.println("❌ Teste de carga falhou: " + e.getMessage());
+            e.printStackTrace();
+            exitCode = 2;
+        }
+        // A aplicação deixa threads não-daemon (agendadores, pool HTTP); encerra explicitamente
+        System.exit(exitCode);
+    }
+
+    private static int run(LoadTestConfig config) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(8);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+
+        try (TestEnvironment environment = new TestEnvironment(config, http)) {
+            environment.start();
+
+            List<Scenario> scenarios = Scenarios.build(config.mix, environment.baseUri(), environment.videoIds(),
+                    environment.userEmails(), Duration.ofMillis(config.requestTimeoutMs));
+            Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+            scenarios.forEach(scenario -> stats.put(scenario.name(), new ScenarioStats(scenario.name())));
+            ScenarioStats total = new ScenarioStats("total");
+            LoadGenerator generator = new LoadGenerator(http, scenarios, stats, total, config.maxInFlight, config.seed);
+
+            if (config.warmupSeconds > 0) {
+                System.out.println("🔥 Aquecimento: " + config.warmupSeconds + "s a " + config.rps + " rps");
+                generator.run(config.rps, config.warmupSeconds);
+                stats.values().forEach(ScenarioStats::reset);
+                total.reset();
+            }
+
+            System.out.println("⏱️ Medição: " + config.durationSeconds + "s a " + config.rps + " rps, mix " + config.mix);
+            double elapsedSeconds = generator.run(config.rps, config.durationSeconds);
+
+            List<ScenarioStats.Summary> summaries = new ArrayList<>();
+            for (ScenarioStats scenarioStats : stats.values()) {
+                summaries.add(scenarioStats.summarize(elapsedSeconds));
+            }
+
+            LoadTestReport report = new LoadTestReport(config, summaries, total.summarize(elapsedSeconds));
+            report.print();
+            report.write(config.report);
+            return report.passed() ? 0 : 1;
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.holyplay.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado do teste: tabela no console, JSON em disco e conferência dos orçamentos
+ */
+final class LoadTestReport {
+
+    private final LoadTestConfig config;
+    private final List<ScenarioStats.Summary> scenarios;
+    private final ScenarioStats.Summary total;
+    private final List<String> violations = new ArrayList<>();
+
+    LoadTestReport(LoadTestConfig config, List<ScenarioStats.Summary> scenarios, ScenarioStats.Summary total) {
+        this.config = config;
+        this.scenarios = scenarios;
+        this.total = total;
+        checkBudgets();
+    }
+
+    private void checkBudgets() {
+        for (LatencyBudget budget : config.budgets) {
+            boolean matched = false;
+            for (ScenarioStats.Summary summary : scenarios) {
+                if (!budget.appliesTo(summary.scenario()) || summary.requests() == 0) {
+                    continue;
+                }
+                matched = true;
+                double measured = budget.measure(summary);
+                if (measured > budget.limit()) {
+                    violations.add(summary.scenario() + " " + budget.metric() + " = " + format(measured)
+                            + " (limite " + format(budget.limit()) + ")");
+                }
+            }
+            if (!matched) {
+                System.out.println("⚠️ Orçamento sem cenário correspondente no mix: " + budget);
+            }
+        }
+    }
+
+    boolean passed() {
+        return violations.isEmpty();
+    }
+
+    void print() {
+        System.out.println();
+        System.out.println("📊 Resultado (" + config.rps + " rps alvo, " + config.durationSeconds + "s medidos)");
+        System.out.printf("%-24s %9s %9s %8s %10s %10s %10s %10s%n",
+                "cenário", "reqs", "req/s", "erros", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (ScenarioStats.Summary summary : scenarios) {
+            printRow(summary);
+        }
+        printRow(total);
+
+        for (ScenarioStats.Summary summary : scenarios) {
+            if (!summary.errorsByKind().isEmpty()) {
+                System.out.println("   " + summary.scenario() + " erros: " + summary.errorsByKind());
+            }
+        }
+        System.out.println();
+        if (violations.isEmpty()) {
+            System.out.println("✅ Orçamentos respeitados" + (config.budgets.isEmpty() ? " (nenhum configurado)" : ""));
+        } else {
+            System.err.println("❌ Orçamentos estourados:");
+            violations.forEach(v -> System.err.println("   - " + v));
+        }
+    }
+
+    private static void printRow(ScenarioStats.Summary s) {
+        System.out.printf("%-24s %9d %9.1f %7.2f%% %10.2f %10.2f %10.2f %10.2f%n",
+                s.scenario(), s.requests(), s.throughput(), s.errorRate() * 100, s.p50Ms(), s.p99Ms(), s.p999Ms(), s.maxMs());
+    }
+
+    void write(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("finishedAt", Instant.now().toString());
+        json.put("targetRps", config.rps);
+        json.put("warmupSeconds", config.warmupSeconds);
+        json.put("durationSeconds", config.durationSeconds);
+        json.put("mix", config.mix);
+        json.put("budgets", config.budgets.stream().map(LatencyBudget::toString).toList());
+        json.put("passed", passed());
+        json.put("violations", violations);
+        json.put("total", total);
+        json.put("scenarios", scenarios);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+        System.out.println("📝 Relatório gravado em " + file.toAbsolutePath());
+    }
+
+    private static String format(double value) {
+        return value < 1 ? String.format("%.4f", value) : String.format("%.1f", value);
+    }
+}
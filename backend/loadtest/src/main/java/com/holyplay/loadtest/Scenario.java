@@ -0,0 +1,11 @@
+package com.holyplay.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Um tipo de requisição do mix: nome, peso e como montar a próxima requisição
+ */
+record Scenario(String name, int weight, Function<SplittableRandom, HttpRequest> requests) {
+}
@@ -0,0 +1,86 @@
+package com.holyplay.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (HdrHistogram) e erros de um cenário.
+ * A latência é medida a partir do instante em que a requisição deveria ter saído,
+ * não de quando saiu: atrasos do próprio gerador entram na conta (sem coordinated omission).
+ */
+final class ScenarioStats {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorsByKind = new ConcurrentHashMap<>();
+
+    ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        requests.increment();
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+    }
+
+    void recordError(long latencyNanos, String kind) {
+        requests.increment();
+        errors.increment();
+        errorsByKind.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+    }
+
+    /**
+     * Descarta tudo o que foi medido até aqui (fim do aquecimento)
+     */
+    synchronized void reset() {
+        recorder.reset();
+        total.reset();
+        requests.reset();
+        errors.reset();
+        errorsByKind.clear();
+    }
+
+    synchronized Summary summarize(double seconds) {
+        total.add(recorder.getIntervalHistogram());
+        Map<String, Long> kinds = new TreeMap<>();
+        errorsByKind.forEach((kind, count) -> kinds.put(kind, count.sum()));
+        long count = requests.sum();
+        long failed = errors.sum();
+        return new Summary(
+                name,
+                count,
+                failed,
+                count == 0 ? 0 : (double) failed / count,
+                seconds > 0 ? count / seconds : 0,
+                millis(total.getValueAtPercentile(50)),
+                millis(total.getValueAtPercentile(99)),
+                millis(total.getValueAtPercentile(99.9)),
+                millis(total.getMaxValue()),
+                kinds
+        );
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Summary(String scenario, long requests, long errors, double errorRate, double throughput,
+                   double p50Ms, double p99Ms, double p999Ms, double maxMs, Map<String, Long> errorsByKind) {
+    }
+}
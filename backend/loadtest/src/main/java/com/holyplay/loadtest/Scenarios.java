@@ -0,0 +1,61 @@
+package com.holyplay.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Cenários disponíveis para o loadtest.mix, cobrindo a home, o login e as rotas públicas de /api/videos
+ */
+final class Scenarios {
+
+    private static final String[] LIBRARY_SORTS = {"date", "date", "date", "title", "views"};
+    private static final int[] THUMBNAIL_WIDTHS = {320, 480, 640};
+
+    private Scenarios() {}
+
+    static List<Scenario> build(Map<String, Integer> mix, URI baseUri, List<String> videoIds, List<String> userEmails,
+                                Duration timeout) {
+        Map<String, Function<SplittableRandom, HttpRequest>> available = new LinkedHashMap<>();
+        available.put("home", random -> get(baseUri, "/api/home/configurations/home-page", timeout));
+        available.put("library", random -> get(baseUri,
+                "/api/videos/library?limit=50&sort=" + LIBRARY_SORTS[random.nextInt(LIBRARY_SORTS.length)], timeout));
+        available.put("description", random -> get(baseUri,
+                "/api/videos/" + pick(videoIds, random) + "/description", timeout));
+        available.put("thumbnail", random -> get(baseUri,
+                "/api/videos/" + pick(videoIds, random) + "/thumbnail?w=" + THUMBNAIL_WIDTHS[random.nextInt(THUMBNAIL_WIDTHS.length)], timeout));
+        available.put("categories", random -> get(baseUri, "/api/videos/categories", timeout));
+        available.put("videos-with-categories", random -> get(baseUri, "/api/videos/videos-with-categories", timeout));
+        available.put("login", random -> HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + pick(userEmails, random)
+                        + "\",\"password\":\"" + TestEnvironment.PASSWORD + "\"}"))
+                .build());
+
+        List<Scenario> scenarios = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            Function<SplittableRandom, HttpRequest> requests = available.get(name);
+            if (requests == null) {
+                throw new IllegalArgumentException("Cenário desconhecido em loadtest.mix: " + name
+                        + " (disponíveis: " + String.join(", ", available.keySet()) + ")");
+            }
+            scenarios.add(new Scenario(name, weight, requests));
+        });
+        return scenarios;
+    }
+
+    private static HttpRequest get(URI baseUri, String path, Duration timeout) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout).GET().build();
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,299 @@
+package com.holyplay.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holyplay.HolyplayBackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ambiente do teste: Postgres (embarcado ou descartável), esquema, dados de carga
+ * e a aplicação no perfil bunny-sim, na mesma JVM, em portas livres
+ */
+final class TestEnvironment implements AutoCloseable {
+
+    static final String PASSWORD = "loadtest123";
+    static final String ADMIN_EMAIL = "loadtest-admin@holyplay.com";
+
+    private static final String[] CATEGORIES = {
+            "Pregações", "Louvor", "Estudos Bíblicos", "Testemunhos", "Jovens", "Família", "Missões", "Infantil"
+    };
+    private static final String[] SECTIONS = {"destaques", "lancamentos", "pregacoes", "louvor"};
+
+    private final LoadTestConfig config;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmbeddedPostgres embeddedPostgres;
+    private ConfigurableApplicationContext application;
+    private JdbcTemplate jdbcTemplate;
+    private URI baseUri;
+    private List<String> videoIds = List.of();
+    private List<String> userEmails = List.of();
+
+    TestEnvironment(LoadTestConfig config, HttpClient http) {
+        this.config = config;
+        this.http = http;
+    }
+
+    void start() throws Exception {
+        Files.createDirectories(config.workDir);
+
+        String jdbcUrl;
+        DataSource dataSource;
+        if (config.embeddedDatabase()) {
+            System.out.println("🐘 Iniciando Postgres embarcado...");
+            embeddedPostgres = EmbeddedPostgres.builder()
+                    .setDataDirectory(config.workDir.resolve("pgdata"))
+                    .setCleanDataDirectory(true)
+                    .start();
+            dataSource = embeddedPostgres.getPostgresDatabase();
+            jdbcUrl = embeddedPostgres.getJdbcUrl("postgres", "postgres");
+        } else {
+            System.out.println("🐘 Usando Postgres em " + config.datasourceUrl);
+            dataSource = new DriverManagerDataSource(config.datasourceUrl, config.datasourceUsername, config.datasourcePassword);
+            jdbcUrl = config.datasourceUrl;
+        }
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        createSchema(dataSource);
+        seedUsers();
+        startApplication(jdbcUrl);
+        waitForCatalog();
+        seedDescriptionsAndCategories();
+        configureHomePage();
+    }
+
+    private void createSchema(DataSource dataSource) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("sql/create_users_table.sql"),
+                new ClassPathResource("sql/create_video_catalog_table.sql"),
+                new ClassPathResource("loadtest-schema.sql"),
+                new ClassPathResource("sql/create_video_with_category_view.sql"),
+                new ClassPathResource("sql/create_video_category_assignment_index.sql"),
+                new ClassPathResource("sql/create_video_tag_assignment_table.sql")
+        );
+        populator.execute(dataSource);
+    }
+
+    private void seedUsers() {
+        // Um único hash para todos: o custo do BCrypt fica no login, não na preparação
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        String sql = "INSERT INTO public.users (name, email, password, role, active, created_at) VALUES (?, ?, ?, ?, true, NOW()) " +
+                "ON CONFLICT (email) DO UPDATE SET password = EXCLUDED.password, role = EXCLUDED.role, active = true";
+
+        jdbcTemplate.update(sql, "Admin Carga", ADMIN_EMAIL, hash, "ADMIN");
+        List<String> emails = new ArrayList<>(config.users);
+        List<Object[]> rows = new ArrayList<>(config.users);
+        for (int i = 0; i < config.users; i++) {
+            String email = "loadtest-user-" + i + "@holyplay.com";
+            emails.add(email);
+            rows.add(new Object[] {"Usuário Carga " + i, email, hash, "USER"});
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        userEmails = Collections.unmodifiableList(emails);
+    }
+
+    private void startApplication(String jdbcUrl) throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=bunny-sim",
+                "--SERVER_PORT=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + (config.embeddedDatabase() ? "postgres" : config.datasourceUsername),
+                "--spring.datasource.password=" + (config.embeddedDatabase() ? "" : config.datasourcePassword),
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--bunny.sim.port=" + freePort(),
+                "--bunny.sim.seed=" + config.seed,
+                "--bunny.sim.videos=" + config.videos,
+                "--bunny.catalog.sync.initial-delay-ms=0",
+                "--thumbnails.cache-dir=" + config.workDir.resolve("thumbnails").toAbsolutePath(),
+                "--tracing.enabled=false",
+                "--jwt.secret=holyplay-loadtest-secret-key-with-at-least-256-bits!!"
+        ));
+        args.addAll(config.appArgs);
+
+        System.out.println("🚀 Iniciando aplicação (perfil bunny-sim)...");
+        application = SpringApplication.run(HolyplayBackendApplication.class, args.toArray(String[]::new));
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        baseUri = URI.create("http://127.0.0.1:" + port);
+        System.out.println("✅ Aplicação no ar em " + baseUri);
+    }
+
+    /**
+     * Espera a sincronização do espelho e coleta os ids pela listagem pública
+     */
+    private void waitForCatalog() throws Exception {
+        System.out.println("⏳ Aguardando sincronização de " + config.videos + " vídeos do simulador...");
+        await("sincronização do catálogo", Duration.ofMinutes(3), () -> {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM public.video_catalog WHERE deleted_at IS NULL", Integer.class);
+            return count != null && count >= config.videos;
+        });
+        await("listagem da biblioteca", Duration.ofMinutes(1), () -> {
+            JsonNode page = getJson("/api/videos/library?limit=1");
+            return page != null && page.path("totalItems").asInt() >= config.videos;
+        });
+
+        List<String> ids = new ArrayList<>(config.videos);
+        String cursor = null;
+        do {
+            String path = "/api/videos/library?limit=200" + (cursor != null ? "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8) : "");
+            JsonNode page = getJson(path);
+            if (page == null) {
+                throw new IllegalStateException("Falha ao listar a biblioteca: " + path);
+            }
+            page.path("items").forEach(item -> ids.add(item.path("videoId").asText()));
+            cursor = page.path("nextCursor").isTextual() ? page.path("nextCursor").asText() : null;
+        } while (cursor != null);
+        videoIds = Collections.unmodifiableList(ids);
+        System.out.println("✅ " + videoIds.size() + " vídeos disponíveis");
+    }
+
+    private void seedDescriptionsAndCategories() {
+        List<Long> categoryIds = new ArrayList<>();
+        for (String name : CATEGORIES) {
+            String slug = name.toLowerCase(Locale.ROOT).replace(' ', '-');
+            categoryIds.add(jdbcTemplate.queryForObject(
+                    "INSERT INTO public.video_category (name, slug) VALUES (?, ?) " +
+                            "ON CONFLICT (slug) DO UPDATE SET name = EXCLUDED.name RETURNING id",
+                    Long.class, name, slug));
+        }
+
+        Random random = new Random(config.seed);
+        List<Object[]> assignments = new ArrayList<>(videoIds.size());
+        List<Object[]> descriptions = new ArrayList<>(videoIds.size());
+        for (String videoId : videoIds) {
+            assignments.add(new Object[] {videoId, categoryIds.get(random.nextInt(categoryIds.size()))});
+            descriptions.add(new Object[] {videoId, "Descrição de carga do vídeo " + videoId + ". ".repeat(1 + random.nextInt(20))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO public.video_category_assignment (video_id, category_id) VALUES (?, ?) " +
+                "ON CONFLICT (video_id) DO UPDATE SET category_id = EXCLUDED.category_id", assignments);
+        jdbcTemplate.batchUpdate("INSERT INTO public.video_description (video_id, description) VALUES (?, ?) " +
+                "ON CONFLICT (video_id) DO UPDATE SET description = EXCLUDED.description", descriptions);
+    }
+
+    /**
+     * Monta as seções da home pela API de administração (mesmo caminho do painel)
+     */
+    private void configureHomePage() throws Exception {
+        String token = objectMapper.readTree(post("/api/auth/login",
+                Map.of("email", ADMIN_EMAIL, "password", PASSWORD))).path("token").asText();
+
+        Random random = new Random(config.seed);
+        for (String section : SECTIONS) {
+            List<String> ids = new ArrayList<>();
+            while (ids.size() < 10) {
+                String id = videoIds.get(random.nextInt(videoIds.size()));
+                if (!ids.contains(id)) {
+                    ids.add(id);
+                }
+            }
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/home/configurations/" + section))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of(
+                            "sectionId", section, "sectionName", section, "videoIds", ids, "maxVideos", 10))))
+                    .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Falha ao configurar a seção " + section + ": HTTP " + response.statusCode());
+            }
+        }
+
+        await("snapshot da home", Duration.ofMinutes(1), () -> {
+            JsonNode home = getJson("/api/home/configurations/home-page");
+            return home != null && !home.path("partial").asBoolean() && home.path("sections").size() == SECTIONS.length;
+        });
+        System.out.println("✅ Home configurada com " + SECTIONS.length + " seções");
+    }
+
+    private JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(baseUri.resolve(path)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private byte[] post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + path + " respondeu HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private interface Check {
+        boolean ready() throws Exception;
+    }
+
+    private static void await(String what, Duration timeout, Check check) throws Exception {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!check.ready()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Tempo esgotado aguardando " + what);
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    List<String> videoIds() {
+        return videoIds;
+    }
+
+    List<String> userEmails() {
+        return userEmails;
+    }
+
+    @Override
+    public void close() {
+        if (application != null) {
+            application.close();
+        }
+        if (embeddedPostgres != null) {
+            try {
+                embeddedPostgres.close();
+            } catch (IOException e) {
+                System.err.println("⚠️ Erro ao parar o Postgres embarcado: " + e.getMessage());
+            }
+        }
+    }
+}
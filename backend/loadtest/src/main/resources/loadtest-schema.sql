@@ -0,0 +1,38 @@
+-- Tabelas que não têm script em src/main/resources/sql do backend
+-- (criadas manualmente em produção); mesmas colunas usadas pelos repositórios
+
+CREATE TABLE IF NOT EXISTS public.video_description (
+    id BIGSERIAL PRIMARY KEY,
+    video_id CHARACTER VARYING(128) NOT NULL UNIQUE,
+    description TEXT,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS public.video_category (
+    id BIGSERIAL PRIMARY KEY,
+    name CHARACTER VARYING(255) NOT NULL,
+    slug CHARACTER VARYING(255) NOT NULL UNIQUE,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS public.video_category_assignment (
+    video_id CHARACTER VARYING(128) PRIMARY KEY,
+    category_id BIGINT NOT NULL REFERENCES public.video_category(id),
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS public.home_configurations (
+    section_id CHARACTER VARYING(50) PRIMARY KEY,
+    section_name CHARACTER VARYING(100) NOT NULL,
+    max_videos INTEGER,
+    updated_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS public.home_section_videos (
+    section_id CHARACTER VARYING(50) NOT NULL REFERENCES public.home_configurations(section_id),
+    video_id CHARACTER VARYING(255),
+    video_order INTEGER NOT NULL,
+    PRIMARY KEY (section_id, video_order)
+);
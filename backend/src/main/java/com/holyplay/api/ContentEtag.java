@@ -0,0 +1,39 @@
+package com.holyplay.api;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * ETag forte derivada do conteúdo (SHA-256, primeiros 16 bytes em hex, entre aspas):
+ * igual em todas as instâncias e entre reinícios para o mesmo conteúdo.
+ */
+public final class ContentEtag {
+
+    private static final int ETAG_BYTES = 16;
+
+    private ContentEtag() {}
+
+    public static String of(byte[] content) {
+        return format(newDigest().digest(content));
+    }
+
+    /**
+     * Para conteúdo acumulado aos poucos em um digest obtido de {@link #newDigest()}
+     */
+    public static String of(MessageDigest digest) {
+        return format(digest.digest());
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static String format(byte[] hash) {
+        return "\"" + HexFormat.of().formatHex(hash, 0, ETAG_BYTES) + "\"";
+    }
+}
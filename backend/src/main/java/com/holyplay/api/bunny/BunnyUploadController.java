@@ -0,0 +1,154 @@
+package com.holyplay.api.bunny;
+
+import com.holyplay.api.bunny.dto.StartUploadRequest;
+import com.holyplay.api.bunny.dto.UploadStatusResponse;
+import com.holyplay.infrastructure.bunny.BunnyApiException;
+import com.holyplay.infrastructure.bunny.BunnyUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Uploads retomáveis de vídeo (protocolo TUS simplificado), repassados em streaming para a Bunny.
+ * Fluxo: POST cria o upload; PATCH envia cada pedaço a partir do Upload-Offset; HEAD informa o
+ * offset confirmado para retomar após uma queda; GET devolve o progresso do lado do servidor.
+ * Apenas administradores podem enviar vídeos.
+ */
+@RestController
+@RequestMapping("/api/bunny/uploads")
+@PreAuthorize("hasRole('ADMIN')")
+public class BunnyUploadController {
+
+    private static final String TUS_RESUMABLE = "1.0.0";
+    private static final String OFFSET_CONTENT_TYPE = "application/offset+octet-stream";
+    private static final int LOCKED_RETRY_AFTER_SECONDS = 5;
+
+    private final BunnyUploadService uploadService;
+
+    public BunnyUploadController(BunnyUploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadStatusResponse> start(@Valid @RequestBody StartUploadRequest request) {
+        try {
+            BunnyUploadService.UploadSession session =
+                    uploadService.start(request.getTitle().trim(), request.getFileName(), request.getLength());
+            return ResponseEntity.created(URI.create("/api/bunny/uploads/" + session.getUploadId()))
+                    .header("Tus-Resumable", TUS_RESUMABLE)
+                    .header("Upload-Offset", String.valueOf(session.getOffset()))
+                    .header("Upload-Length", String.valueOf(session.getLength()))
+                    .body(toResponse(session));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (BunnyApiException e) {
+            System.err.println("❌ Erro ao iniciar upload na Bunny: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> offset(@PathVariable String uploadId) {
+        Optional<BunnyUploadService.UploadSession> session = uploadService.find(uploadId);
+        if (session.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            BunnyUploadService.UploadSession synced = uploadService.syncOffset(session.get());
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .header("Tus-Resumable", TUS_RESUMABLE)
+                    .header("Upload-Offset", String.valueOf(synced.getOffset()))
+                    .header("Upload-Length", String.valueOf(synced.getLength()))
+                    .build();
+        } catch (BunnyApiException e) {
+            System.err.println("❌ Erro ao consultar offset do upload " + uploadId + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadStatusResponse> status(@PathVariable String uploadId) {
+        return uploadService.find(uploadId)
+                .map(session -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .body(toResponse(session)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Recebe um pedaço do arquivo. O corpo é lido direto do stream da requisição e repassado
+     * à Bunny enquanto chega, com memória constante independente do tamanho do pedaço.
+     */
+    @PatchMapping("/{uploadId}")
+    public ResponseEntity<Void> append(
+            @PathVariable String uploadId,
+            @RequestHeader("Upload-Offset") long offset,
+            @RequestHeader(value = "Content-Type", required = false) String contentType,
+            HttpServletRequest request
+    ) throws IOException {
+        Optional<BunnyUploadService.UploadSession> session = uploadService.find(uploadId);
+        if (session.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (contentType == null || !contentType.startsWith(OFFSET_CONTENT_TYPE)) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        long chunkLength = request.getContentLengthLong();
+        if (chunkLength <= 0) {
+            // Tamanho do pedaço é repassado à Bunny como Content-Length; chunked sem tamanho não é aceito
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).build();
+        }
+
+        try {
+            long newOffset = uploadService.appendChunk(session.get(), offset, chunkLength, request.getInputStream());
+            return ResponseEntity.noContent()
+                    .header("Tus-Resumable", TUS_RESUMABLE)
+                    .header("Upload-Offset", String.valueOf(newOffset))
+                    .build();
+        } catch (IllegalStateException e) {
+            if (session.get().isTransferring()) {
+                // Outro pedaço ainda em andamento (ex.: envio anterior do cliente interrompido): tente mais tarde
+                return ResponseEntity.status(HttpStatus.LOCKED)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(LOCKED_RETRY_AFTER_SECONDS))
+                        .header("Upload-Offset", String.valueOf(session.get().getOffset()))
+                        .build();
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("Upload-Offset", String.valueOf(session.get().getOffset()))
+                    .build();
+        } catch (BunnyApiException e) {
+            // O cliente retoma a partir do offset confirmado (HEAD)
+            System.err.println("❌ Falha ao repassar pedaço do upload " + uploadId + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+
+    private static UploadStatusResponse toResponse(BunnyUploadService.UploadSession session) {
+        return new UploadStatusResponse(
+                session.getUploadId(),
+                session.getVideoId(),
+                session.getLength(),
+                session.getOffset(),
+                session.getInFlightBytes(),
+                session.isComplete()
+        );
+    }
+}
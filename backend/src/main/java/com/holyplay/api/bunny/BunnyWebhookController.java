@@ -0,0 +1,63 @@
+package com.holyplay.api.bunny;
+
+import com.holyplay.api.bunny.dto.BunnyWebhookRequest;
+import com.holyplay.infrastructure.bunny.BunnyWebhookProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Recebe os webhooks de status da Bunny Stream.
+ * Os webhooks da Bunny não são assinados, então a URL cadastrada no painel carrega um
+ * token secreto (?token=...) que é conferido aqui, junto com o id da biblioteca.
+ */
+@RestController
+@RequestMapping("/api/bunny")
+public class BunnyWebhookController {
+
+    private final BunnyWebhookProcessor processor;
+    private final byte[] secret;
+    private final String libraryNumericId;
+
+    public BunnyWebhookController(
+            BunnyWebhookProcessor processor,
+            @Value("${bunny.webhook.secret:}") String secret,
+            @Value("${bunny.webhook.library-id:}") String libraryNumericId
+    ) {
+        this.processor = processor;
+        this.secret = secret.trim().getBytes(StandardCharsets.UTF_8);
+        // Id numérico da biblioteca enviado pela Bunny; vazio desativa a conferência
+        this.libraryNumericId = libraryNumericId.trim();
+    }
+
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> receive(
+            @RequestParam(value = "token", required = false) String token,
+            @RequestBody BunnyWebhookRequest request
+    ) {
+        if (secret.length == 0) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (token == null || !MessageDigest.isEqual(secret, token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (request.getVideoGuid() == null || request.getVideoGuid().isBlank() || request.getStatus() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!libraryNumericId.isEmpty() && !String.valueOf(request.getVideoLibraryId()).equals(libraryNumericId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        // Processamento assíncrono: a Bunny recebe 200 imediatamente
+        processor.accept(request.getVideoGuid(), request.getStatus());
+        return ResponseEntity.ok().build();
+    }
+}
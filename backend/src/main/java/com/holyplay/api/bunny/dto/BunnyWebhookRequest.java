@@ -0,0 +1,30 @@
+package com.holyplay.api.bunny.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Corpo enviado pela Bunny Stream nos webhooks de status de vídeo
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BunnyWebhookRequest {
+
+    @JsonProperty("VideoLibraryId")
+    private Long videoLibraryId;
+
+    @JsonProperty("VideoGuid")
+    private String videoGuid;
+
+    @JsonProperty("Status")
+    private Integer status;
+
+    public BunnyWebhookRequest() {}
+
+    public Long getVideoLibraryId() { return videoLibraryId; }
+    public String getVideoGuid() { return videoGuid; }
+    public Integer getStatus() { return status; }
+
+    public void setVideoLibraryId(Long videoLibraryId) { this.videoLibraryId = videoLibraryId; }
+    public void setVideoGuid(String videoGuid) { this.videoGuid = videoGuid; }
+    public void setStatus(Integer status) { this.status = status; }
+}
@@ -0,0 +1,30 @@
+package com.holyplay.api.bunny.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class StartUploadRequest {
+
+    @NotBlank
+    @Size(max = 512)
+    private String title;
+
+    @Size(max = 255)
+    private String fileName;
+
+    @NotNull
+    @Positive
+    private Long length;
+
+    public StartUploadRequest() {}
+
+    public String getTitle() { return title; }
+    public String getFileName() { return fileName; }
+    public Long getLength() { return length; }
+
+    public void setTitle(String title) { this.title = title; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public void setLength(Long length) { this.length = length; }
+}
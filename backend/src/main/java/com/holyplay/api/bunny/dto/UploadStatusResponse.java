@@ -0,0 +1,33 @@
+package com.holyplay.api.bunny.dto;
+
+public class UploadStatusResponse {
+    private String uploadId;
+    private String videoId;
+    private long length;
+    private long offset;
+    private long inFlightBytes;
+    private int progress;
+    private boolean complete;
+
+    public UploadStatusResponse(String uploadId, String videoId, long length, long offset,
+                                long inFlightBytes, boolean complete) {
+        this.uploadId = uploadId;
+        this.videoId = videoId;
+        this.length = length;
+        this.offset = offset;
+        this.inFlightBytes = inFlightBytes;
+        this.progress = length > 0 ? (int) ((offset + inFlightBytes) * 100 / length) : 0;
+        this.complete = complete;
+    }
+
+    public String getUploadId() { return uploadId; }
+    public String getVideoId() { return videoId; }
+    public long getLength() { return length; }
+    /** Bytes já confirmados pela Bunny */
+    public long getOffset() { return offset; }
+    /** Bytes do pedaço atual já repassados, ainda não confirmados */
+    public long getInFlightBytes() { return inFlightBytes; }
+    /** Progresso do lado do servidor, de 0 a 100 */
+    public int getProgress() { return progress; }
+    public boolean isComplete() { return complete; }
+}
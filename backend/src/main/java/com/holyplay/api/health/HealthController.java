@@ -1,19 +1,27 @@
 package com.holyplay.api.health;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.holyplay.application.health.CheckDatabaseHealthUseCase;
+import com.holyplay.infrastructure.bunny.BunnyStreamService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/health")
 public class HealthController {
 
     private final CheckDatabaseHealthUseCase checkDatabaseHealthUseCase;
+    private final BunnyStreamService bunnyStreamService;
 
-    public HealthController(CheckDatabaseHealthUseCase checkDatabaseHealthUseCase) {
+    public HealthController(CheckDatabaseHealthUseCase checkDatabaseHealthUseCase,
+                            BunnyStreamService bunnyStreamService) {
         this.checkDatabaseHealthUseCase = checkDatabaseHealthUseCase;
+        this.bunnyStreamService = bunnyStreamService;
     }
 
     @GetMapping("/db")
@@ -21,4 +29,27 @@ public class HealthController {
         boolean ok = checkDatabaseHealthUseCase.execute();
         return ok ? ResponseEntity.ok("DB OK") : ResponseEntity.status(503).body("DB DOWN");
     }
+
+    /**
+     * Estatísticas da integração com a Bunny (cache de metadados, cliente HTTP e circuit breaker)
+     */
+    @GetMapping("/bunny")
+    public ResponseEntity<Map<String, Object>> bunny() {
+        CacheStats stats = bunnyStreamService.getCacheStats();
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("size", bunnyStreamService.getCacheSize());
+        cache.put("hits", stats.hitCount());
+        cache.put("misses", stats.missCount());
+        cache.put("hitRate", stats.hitRate());
+        cache.put("evictions", stats.evictionCount());
+        cache.put("loadFailures", stats.loadFailureCount());
+        cache.put("lastKnownGoodSize", bunnyStreamService.getFallbackSize());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("cache", cache);
+        response.put("http", bunnyStreamService.getClientStats().toMap());
+        response.put("circuitBreaker", bunnyStreamService.getCircuitBreaker().toMap());
+        response.put("rateLimiter", bunnyStreamService.getRateLimiter().toMap());
+        return ResponseEntity.ok(response);
+    }
 }
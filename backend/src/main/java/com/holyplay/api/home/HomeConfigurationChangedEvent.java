@@ -0,0 +1,20 @@
+package com.holyplay.api.home;
+
+/**
+ * Publicado quando alguma seção da home é criada, alterada ou removida.
+ */
+public class HomeConfigurationChangedEvent {
+
+    private final String sectionId;
+
+    public HomeConfigurationChangedEvent(String sectionId) {
+        this.sectionId = sectionId;
+    }
+
+    /**
+     * Seção alterada, ou null quando a mudança afeta várias seções
+     */
+    public String getSectionId() {
+        return sectionId;
+    }
+}
@@ -2,11 +2,14 @@ package com.holyplay.api.home;
 
 import com.holyplay.api.home.dto.HomeConfigurationRequest;
 import com.holyplay.api.home.dto.HomeConfigurationResponse;
-import com.holyplay.api.home.dto.HomePageResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -22,13 +25,29 @@ public class HomeConfigurationController {
     @Autowired
     private HomeConfigurationService service;
     
+    @Autowired
+    private HomePageSnapshot homePageSnapshot;
+    
     /**
-     * Endpoint público para a página inicial - retorna dados completos dos vídeos
+     * Endpoint público para a página inicial - retorna dados completos dos vídeos.
+     * Serve o snapshot pré-serializado com ETag forte; clientes e CDN revalidam via If-None-Match.
      */
     @GetMapping("/home-page")
-    public ResponseEntity<HomePageResponse> getHomePageData() {
-        HomePageResponse homeData = service.getHomePageData();
-        return ResponseEntity.ok(homeData);
+    public ResponseEntity<byte[]> getHomePageData(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        HomePageSnapshot.Snapshot snapshot = homePageSnapshot.get();
+        if (ifNoneMatch != null && ifNoneMatch.contains(snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
     }
 
     /**
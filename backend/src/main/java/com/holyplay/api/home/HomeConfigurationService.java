@@ -4,16 +4,31 @@ import com.holyplay.api.home.dto.HomeConfigurationRequest;
 import com.holyplay.api.home.dto.HomeConfigurationResponse;
 import com.holyplay.api.home.dto.HomePageResponse;
 import com.holyplay.infrastructure.bunny.BunnyStreamService;
+import com.holyplay.infrastructure.jfr.HomePageEvent;
+import com.holyplay.infrastructure.jfr.HomeSectionEvent;
+import com.holyplay.infrastructure.jfr.HomeVideoEvent;
 import com.holyplay.domain.video.VideoDescription;
 import com.holyplay.domain.video.VideoDescriptionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +43,12 @@ public class HomeConfigurationService {
     @Autowired
     private VideoDescriptionRepository videoDescriptionRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${home.page.deadline-ms:1500}")
+    private long homePageDeadlineMs;
+    
     /**
      * Busca todas as configurações das seções da home
      */
@@ -61,6 +82,7 @@ public class HomeConfigurationService {
         config.setUpdatedAt(LocalDateTime.now());
         
         HomeConfiguration saved = repository.save(config);
+        eventPublisher.publishEvent(new HomeConfigurationChangedEvent(saved.getSectionId()));
         return toResponse(saved);
     }
     
@@ -70,6 +92,7 @@ public class HomeConfigurationService {
     @Transactional
     public void deleteConfiguration(String sectionId) {
         repository.deleteById(sectionId);
+        eventPublisher.publishEvent(new HomeConfigurationChangedEvent(sectionId));
     }
     
     /**
@@ -87,79 +110,204 @@ public class HomeConfigurationService {
             );
             
             repository.saveAll(defaultConfigs);
+            eventPublisher.publishEvent(new HomeConfigurationChangedEvent(null));
         }
     }
     
     /**
      * Busca dados completos para a página inicial (público)
-     * Integra com API do Bunny Stream para buscar dados reais dos vídeos
+     * Usado para montar o {@link HomePageSnapshot}; o endpoint público serve o snapshot.
+     * Integra com API do Bunny Stream para buscar dados reais dos vídeos.
+     * As buscas de todas as seções são disparadas em paralelo e limitadas por um
+     * prazo único; vídeos que não respondem a tempo voltam como entradas degradadas.
      */
     public HomePageResponse getHomePageData() {
+        HomePageEvent pageEvent = new HomePageEvent();
+        pageEvent.begin();
         List<HomeConfiguration> configurations = repository.findAll();
-        
-        List<HomePageResponse.HomeSectionResponse> sections = configurations.stream()
-            .map(config -> {
-                System.out.println("🏠 Processando seção: " + config.getSectionId() + " com " + config.getVideoIds().size() + " vídeos");
-                
-                // Para cada videoId, buscar dados reais na API do Bunny Stream
-                List<HomePageResponse.HomeVideoResponse> videos = config.getVideoIds().stream()
-                    .map(videoId -> {
-                        System.out.println("🎬 Buscando dados do vídeo: " + videoId);
-                        
-                        Optional<BunnyStreamService.BunnyVideo> bunnyVideo = bunnyStreamService.getVideoById(videoId);
-                        
-                        if (bunnyVideo.isPresent()) {
-                            BunnyStreamService.BunnyVideo video = bunnyVideo.get();
-                            
-                            // Buscar descrição local se não tiver da Bunny
-                            String description = video.getDescription();
-                            if (description == null || description.isEmpty()) {
-                                Optional<VideoDescription> localDesc = videoDescriptionRepository.findByVideoId(videoId);
-                                description = localDesc.map(VideoDescription::getDescription).orElse("");
-                            }
-                            
-                            return new HomePageResponse.HomeVideoResponse(
-                                videoId,
-                                video.getTitle() != null ? video.getTitle() : "Vídeo sem título",
-                                description,
-                                video.getThumbnailUrl() != null ? video.getThumbnailUrl() : "/api/placeholder/400/225",
-                                video.getLength() != null ? video.getLength() : 0,
-                                video.getViews() != null ? video.getViews() : 0L,
-                                video.getCategory() != null ? video.getCategory() : "Geral",
-                                isNewVideo(video.getDateUploaded()),
-                                config.getSectionId().equals("featured")
-                            );
-                        } else {
-                            System.err.println("❌ Não foi possível buscar dados do vídeo: " + videoId);
-                            
-                            // Buscar descrição local como fallback
-                            Optional<VideoDescription> localDesc = videoDescriptionRepository.findByVideoId(videoId);
-                            String localDescription = localDesc.map(VideoDescription::getDescription).orElse("Descrição não disponível");
-                            
-                            return new HomePageResponse.HomeVideoResponse(
-                                videoId,
-                                "Vídeo " + videoId.substring(0, 8),
-                                localDescription,
-                                "/api/placeholder/400/225",
-                                0,
-                                0L,
-                                "Geral",
-                                false,
-                                false
-                            );
-                        }
-                    })
-                    .collect(Collectors.toList());
-                
-                return new HomePageResponse.HomeSectionResponse(
-                    config.getSectionId(),
-                    config.getSectionName(),
-                    videos
-                );
-            })
-            .collect(Collectors.toList());
-        
-        return new HomePageResponse(sections);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(homePageDeadlineMs);
+
+        // Dispara uma busca por vídeo distinto, para todas as seções de uma vez
+        Map<String, CompletableFuture<Optional<BunnyStreamService.BunnyVideo>>> lookups = new LinkedHashMap<>();
+        for (HomeConfiguration config : configurations) {
+            for (String videoId : config.getVideoIds()) {
+                lookups.computeIfAbsent(videoId, this::lookupVideo);
+            }
+        }
+
+        awaitUntil(lookups.values(), deadline);
+
+        // Resolve o resultado de cada busca e junta os vídeos que precisam de descrição local
+        Map<String, Optional<BunnyStreamService.BunnyVideo>> resolved = new HashMap<>();
+        Set<String> needLocalDescription = new HashSet<>();
+        lookups.forEach((videoId, lookup) -> {
+            if (lookup.isDone() && !lookup.isCompletedExceptionally()) {
+                Optional<BunnyStreamService.BunnyVideo> video = lookup.join();
+                resolved.put(videoId, video);
+                String bunnyDescription = video.map(BunnyStreamService.BunnyVideo::getDescription).orElse(null);
+                if (bunnyDescription == null || bunnyDescription.isEmpty()) {
+                    needLocalDescription.add(videoId);
+                }
+            } else {
+                lookup.cancel(false);
+                needLocalDescription.add(videoId);
+            }
+        });
+        Map<String, VideoDescription> localDescriptions = videoDescriptionRepository.findByVideoIds(needLocalDescription);
+
+        List<HomePageResponse.HomeSectionResponse> sections = new ArrayList<>(configurations.size());
+        boolean partial = false;
+        int degraded = 0;
+        int notFound = 0;
+        for (HomeConfiguration config : configurations) {
+            HomeSectionEvent sectionEvent = new HomeSectionEvent();
+            sectionEvent.begin();
+            int sectionDegraded = 0;
+            List<HomePageResponse.HomeVideoResponse> videos = new ArrayList<>(config.getVideoIds().size());
+            for (String videoId : config.getVideoIds()) {
+                Optional<BunnyStreamService.BunnyVideo> video = resolved.get(videoId);
+                if (video != null) {
+                    videos.add(toVideoResponse(config, videoId, video, localDescriptions.get(videoId)));
+                    if (video.isEmpty()) {
+                        notFound++;
+                    }
+                } else {
+                    videos.add(degradedVideo(videoId, localDescriptions.get(videoId)));
+                    sectionDegraded++;
+                    partial = true;
+                }
+            }
+            sections.add(new HomePageResponse.HomeSectionResponse(
+                config.getSectionId(),
+                config.getSectionName(),
+                videos
+            ));
+            degraded += sectionDegraded;
+            sectionEvent.end();
+            if (sectionEvent.shouldCommit()) {
+                sectionEvent.sectionId = config.getSectionId();
+                sectionEvent.videos = videos.size();
+                sectionEvent.degraded = sectionDegraded;
+                sectionEvent.commit();
+            }
+        }
+
+        // Um único aviso por montagem da página, não um por vídeo
+        if (partial || notFound > 0) {
+            System.err.println("⚠️ Home montada com " + degraded + " vídeos fora do prazo de " + homePageDeadlineMs
+                    + "ms e " + notFound + " não encontrados na Bunny (partial=" + partial + ")");
+        }
+
+        HomePageResponse response = new HomePageResponse(sections);
+        response.setPartial(partial);
+
+        pageEvent.end();
+        if (pageEvent.shouldCommit()) {
+            pageEvent.sections = sections.size();
+            pageEvent.videos = lookups.size();
+            pageEvent.degraded = degraded;
+            pageEvent.partial = partial;
+            pageEvent.commit();
+        }
+        return response;
+    }
+
+    /**
+     * Dispara a busca de um vídeo; com gravação JFR ativa, registra quanto ela levou até concluir
+     */
+    private CompletableFuture<Optional<BunnyStreamService.BunnyVideo>> lookupVideo(String videoId) {
+        if (!HomeVideoEvent.enabled()) {
+            return bunnyStreamService.getVideoByIdAsync(videoId);
+        }
+        HomeVideoEvent event = new HomeVideoEvent();
+        event.begin();
+        CompletableFuture<Optional<BunnyStreamService.BunnyVideo>> lookup = bunnyStreamService.getVideoByIdAsync(videoId);
+        lookup.whenComplete((video, error) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.videoId = videoId;
+                event.found = video != null && video.isPresent();
+                event.failed = error != null;
+                event.commit();
+            }
+        });
+        return lookup;
+    }
+
+    /**
+     * Aguarda as buscas até o prazo final da requisição, sem propagar falhas individuais.
+     */
+    private static void awaitUntil(Collection<? extends CompletableFuture<?>> futures, long deadlineNanos) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+        try {
+            all.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Tratado por vídeo: futuros não concluídos ou com erro viram entradas degradadas
+        }
+    }
+
+    private HomePageResponse.HomeVideoResponse toVideoResponse(
+            HomeConfiguration config,
+            String videoId,
+            Optional<BunnyStreamService.BunnyVideo> bunnyVideo,
+            VideoDescription localDesc
+    ) {
+        if (bunnyVideo.isPresent()) {
+            BunnyStreamService.BunnyVideo video = bunnyVideo.get();
+
+            // Buscar descrição local se não tiver da Bunny
+            String description = video.getDescription();
+            if (description == null || description.isEmpty()) {
+                description = localDesc != null ? localDesc.getDescription() : "";
+            }
+
+            HomePageResponse.HomeVideoResponse response = new HomePageResponse.HomeVideoResponse(
+                videoId,
+                video.getTitle() != null ? video.getTitle() : "Vídeo sem título",
+                description,
+                video.getThumbnailUrl() != null ? video.getThumbnailUrl() : "/api/placeholder/400/225",
+                video.getLength() != null ? video.getLength() : 0,
+                video.getViews() != null ? video.getViews() : 0L,
+                video.getCategory() != null ? video.getCategory() : "Geral",
+                isNewVideo(video.getDateUploaded()),
+                config.getSectionId().equals("featured")
+            );
+            response.setThumbnailWidth(video.getThumbnailWidth());
+            response.setThumbnailHeight(video.getThumbnailHeight());
+            return response;
+        }
+
+        return fallbackVideo(videoId, localDesc);
+    }
+
+    /**
+     * Entrada de vídeo sem dados da Bunny, montada apenas com a descrição local
+     */
+    private HomePageResponse.HomeVideoResponse fallbackVideo(String videoId, VideoDescription localDesc) {
+        String localDescription = localDesc != null ? localDesc.getDescription() : "Descrição não disponível";
+
+        return new HomePageResponse.HomeVideoResponse(
+            videoId,
+            "Vídeo " + videoId.substring(0, Math.min(8, videoId.length())),
+            localDescription,
+            "/api/placeholder/400/225",
+            0,
+            0L,
+            "Geral",
+            false,
+            false
+        );
+    }
+
+    /**
+     * Entrada para vídeo cuja busca não terminou dentro do prazo da requisição
+     */
+    private HomePageResponse.HomeVideoResponse degradedVideo(String videoId, VideoDescription localDesc) {
+        HomePageResponse.HomeVideoResponse video = fallbackVideo(videoId, localDesc);
+        video.setDegraded(true);
+        return video;
     }
 
     /**
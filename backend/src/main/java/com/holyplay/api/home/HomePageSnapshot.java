@@ -0,0 +1,154 @@
+package com.holyplay.api.home;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holyplay.api.ContentEtag;
+import com.holyplay.api.home.dto.HomePageResponse;
+import com.holyplay.infrastructure.bunny.VideoCatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Snapshot materializado da página inicial, mantido como JSON já serializado.
+ * Leitores sempre recebem a versão atual sem tocar no Postgres ou na Bunny;
+ * a reconstrução acontece em segundo plano quando a configuração da home muda.
+ */
+@Component
+public class HomePageSnapshot {
+
+    private final HomeConfigurationService service;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService executor;
+    private final long retryPartialMs;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public HomePageSnapshot(
+            HomeConfigurationService service,
+            ObjectMapper objectMapper,
+            @Qualifier("homeSnapshotExecutor") ScheduledExecutorService executor,
+            @Value("${home.page.snapshot.refresh-ms:300000}") long refreshMs,
+            @Value("${home.page.snapshot.retry-partial-ms:30000}") long retryPartialMs
+    ) {
+        this.service = service;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.retryPartialMs = retryPartialMs;
+        // Atualização periódica: views e títulos vêm da Bunny e mudam sem passar pelo admin
+        executor.scheduleWithFixedDelay(this::requestRebuild, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Retorna o snapshot atual. Apenas a primeira leitura, antes do aquecimento, monta a página na hora.
+     */
+    public Snapshot get() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = current.get();
+            if (snapshot == null) {
+                snapshot = build();
+                current.set(snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Agenda uma reconstrução. Pedidos feitos enquanto outro ainda está na fila são agrupados.
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigurationChanged(HomeConfigurationChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * Metadados de vídeos mudaram no espelho da Bunny: reconstrói só se algum deles está na home
+     */
+    @EventListener
+    public void onCatalogChanged(VideoCatalogChangedEvent event) {
+        Snapshot snapshot = current.get();
+        if (snapshot == null || event.getVideoIds().stream().anyMatch(snapshot.getVideoIds()::contains)) {
+            requestRebuild();
+        }
+    }
+
+    private void rebuild() {
+        rebuildPending.set(false);
+        try {
+            Snapshot snapshot = build();
+            current.set(snapshot);
+            if (snapshot.isPartial()) {
+                executor.schedule(this::requestRebuild, retryPartialMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (Exception e) {
+            // Mantém o snapshot anterior; a próxima atualização tenta de novo
+            System.err.println("❌ Erro ao reconstruir snapshot da home: " + e.getMessage());
+        }
+    }
+
+    private Snapshot build() {
+        HomePageResponse page = service.getHomePageData();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            Set<String> videoIds = page.getSections().stream()
+                    .flatMap(section -> section.getVideos().stream())
+                    .map(HomePageResponse.HomeVideoResponse::getVideoId)
+                    .collect(Collectors.toUnmodifiableSet());
+            return new Snapshot(json, ContentEtag.of(json), page.isPartial(), videoIds, Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a página inicial", e);
+        }
+    }
+
+    /**
+     * Versão imutável da página inicial pronta para envio
+     */
+    public static final class Snapshot {
+        private final byte[] json;
+        private final String etag;
+        private final boolean partial;
+        private final Set<String> videoIds;
+        private final Instant builtAt;
+
+        Snapshot(byte[] json, String etag, boolean partial, Set<String> videoIds, Instant builtAt) {
+            this.json = json;
+            this.etag = etag;
+            this.partial = partial;
+            this.videoIds = videoIds;
+            this.builtAt = builtAt;
+        }
+
+        public byte[] getJson() { return json; }
+        public String getEtag() { return etag; }
+        public boolean isPartial() { return partial; }
+        public Set<String> getVideoIds() { return videoIds; }
+        public Instant getBuiltAt() { return builtAt; }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 public class HomePageResponse {
     
     private List<HomeSectionResponse> sections;
+    private boolean partial;
     
     public HomePageResponse() {}
     
@@ -20,6 +21,17 @@ public class HomePageResponse {
         this.sections = sections;
     }
     
+    /**
+     * Indica se algum vídeo da página foi montado em modo degradado
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+    
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+    
     public static class HomeSectionResponse {
         private String sectionId;
         private String sectionName;
@@ -69,6 +81,9 @@ public class HomePageResponse {
         private String category;
         private boolean isNew;
         private boolean isFeatured;
+        private boolean degraded;
+        private Integer thumbnailWidth;
+        private Integer thumbnailHeight;
         
         public HomeVideoResponse() {}
         
@@ -157,5 +172,35 @@ public class HomePageResponse {
         public void setFeatured(boolean isFeatured) {
             this.isFeatured = isFeatured;
         }
+        
+        /**
+         * Verdadeiro quando os dados da Bunny não chegaram dentro do prazo da requisição
+         */
+        public boolean isDegraded() {
+            return degraded;
+        }
+        
+        public void setDegraded(boolean degraded) {
+            this.degraded = degraded;
+        }
+        
+        /**
+         * Dimensões originais da thumbnail, quando ela já foi verificada
+         */
+        public Integer getThumbnailWidth() {
+            return thumbnailWidth;
+        }
+        
+        public void setThumbnailWidth(Integer thumbnailWidth) {
+            this.thumbnailWidth = thumbnailWidth;
+        }
+        
+        public Integer getThumbnailHeight() {
+            return thumbnailHeight;
+        }
+        
+        public void setThumbnailHeight(Integer thumbnailHeight) {
+            this.thumbnailHeight = thumbnailHeight;
+        }
     }
 }
@@ -0,0 +1,146 @@
+package com.holyplay.api.video;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holyplay.api.ContentEtag;
+import com.holyplay.api.video.dto.VideoCategoryResponse;
+import com.holyplay.domain.video.VideoCategory;
+import com.holyplay.infrastructure.video.VideoCategoryJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tabela video_category inteira em memória, como snapshot imutável (por id e por slug)
+ * com a listagem pública já serializada. Leituras não tocam no Postgres; criar uma categoria
+ * monta um snapshot novo e troca a referência de uma vez.
+ */
+@Component
+public class VideoCategoryCatalog {
+
+    private final VideoCategoryJdbcRepository repository;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    public VideoCategoryCatalog(
+            VideoCategoryJdbcRepository repository,
+            ObjectMapper objectMapper,
+            TaskScheduler scheduler,
+            @Value("${videos.categories.reload-ms:300000}") long reloadMs
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        // Recarga periódica: categorias criadas por outra instância ou direto no banco
+        scheduler.scheduleWithFixedDelay(this::reloadQuietly, Instant.now().plusMillis(reloadMs), Duration.ofMillis(reloadMs));
+    }
+
+    /**
+     * Snapshot atual; a primeira leitura carrega a tabela na hora
+     */
+    public Snapshot get() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = current.get();
+            if (snapshot == null) {
+                snapshot = load();
+                current.set(snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Categoria pelo id. Ausente no snapshot, confere no banco (pode ter sido criada por outra
+     * instância) e, se existir, recarrega o snapshot.
+     */
+    public Optional<VideoCategory> findById(Long id) {
+        VideoCategory category = get().byId.get(id);
+        if (category != null) {
+            return Optional.of(category);
+        }
+        Optional<VideoCategory> stored = repository.findCategoryById(id);
+        if (stored.isPresent()) {
+            reloadQuietly();
+        }
+        return stored;
+    }
+
+    public Optional<VideoCategory> findBySlug(String slug) {
+        return Optional.ofNullable(get().bySlug.get(slug));
+    }
+
+    /**
+     * Grava a categoria e publica um snapshot novo antes de retornar
+     */
+    public synchronized VideoCategory create(String name, String slug) {
+        VideoCategory created = repository.createCategory(name, slug);
+        current.set(load());
+        return created;
+    }
+
+    private void reloadQuietly() {
+        try {
+            synchronized (this) {
+                current.set(load());
+            }
+        } catch (DataAccessException e) {
+            // Mantém o snapshot anterior; a próxima recarga tenta de novo
+            System.err.println("❌ Erro ao recarregar categorias de vídeo: " + e.getMessage());
+        }
+    }
+
+    private Snapshot load() {
+        List<VideoCategory> categories = repository.findAllCategories();
+        Map<Long, VideoCategory> byId = new LinkedHashMap<>();
+        Map<String, VideoCategory> bySlug = new LinkedHashMap<>();
+        for (VideoCategory category : categories) {
+            byId.put(category.getId(), category);
+            bySlug.put(category.getSlug(), category);
+        }
+        List<VideoCategoryResponse> response = categories.stream()
+                .map(c -> new VideoCategoryResponse(c.getId(), c.getName(), c.getSlug()))
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(bySlug), List.copyOf(categories), json, ContentEtag.of(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar categorias de vídeo", e);
+        }
+    }
+
+    public static final class Snapshot {
+        private final Map<Long, VideoCategory> byId;
+        private final Map<String, VideoCategory> bySlug;
+        private final List<VideoCategory> categories;
+        private final byte[] json;
+        private final String etag;
+
+        private Snapshot(Map<Long, VideoCategory> byId, Map<String, VideoCategory> bySlug,
+                         List<VideoCategory> categories, byte[] json, String etag) {
+            this.byId = byId;
+            this.bySlug = bySlug;
+            this.categories = categories;
+            this.json = json;
+            this.etag = etag;
+        }
+
+        /**
+         * Categorias em ordem de nome, como na listagem
+         */
+        public List<VideoCategory> getCategories() { return categories; }
+        public byte[] getJson() { return json; }
+        public String getEtag() { return etag; }
+    }
+}
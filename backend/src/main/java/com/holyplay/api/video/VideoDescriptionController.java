@@ -2,28 +2,38 @@ package com.holyplay.api.video;
 
 import com.holyplay.api.video.dto.UpsertVideoDescriptionRequest;
 import com.holyplay.api.video.dto.VideoDescriptionResponse;
-import com.holyplay.api.video.dto.VideoCategoryResponse;
 import com.holyplay.api.video.dto.VideoCategoryAssignmentResponse;
 import com.holyplay.api.video.dto.SetVideoCategoryRequest;
 import com.holyplay.api.video.dto.CreateVideoCategoryRequest;
+import com.holyplay.api.video.dto.VideoWithCategoryPageResponse;
 import com.holyplay.api.video.dto.VideoWithCategoryResponse;
 import com.holyplay.application.video.CreateOrUpdateVideoDescriptionUseCase;
 import com.holyplay.application.video.GetVideoDescriptionUseCase;
 import com.holyplay.domain.video.VideoCategory;
 import com.holyplay.domain.video.VideoCategoryAssignment;
+import com.holyplay.infrastructure.video.VideoCategoryAssignmentCache;
 import com.holyplay.infrastructure.video.VideoCategoryJdbcRepository;
+import com.holyplay.infrastructure.video.VideoMetadataChangedEvent;
 import com.holyplay.domain.video.VideoDescription;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.Normalizer;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/videos")
@@ -32,13 +42,37 @@ public class VideoDescriptionController {
     private final CreateOrUpdateVideoDescriptionUseCase createOrUpdate;
     private final GetVideoDescriptionUseCase getByVideoId;
     private final VideoCategoryJdbcRepository categoryRepository;
+    private final VideoCategoryCatalog categoryCatalog;
+    private final VideoCategoryAssignmentCache assignmentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int withCategoriesMaxLimit;
+    private final int withCategoriesFetchSize;
+    private final int byCategoryDefaultLimit;
+    private final int byCategoryMaxLimit;
 
     public VideoDescriptionController(CreateOrUpdateVideoDescriptionUseCase createOrUpdate,
                                       GetVideoDescriptionUseCase getByVideoId,
-                                      VideoCategoryJdbcRepository categoryRepository) {
+                                      VideoCategoryJdbcRepository categoryRepository,
+                                      VideoCategoryCatalog categoryCatalog,
+                                      VideoCategoryAssignmentCache assignmentCache,
+                                      ApplicationEventPublisher eventPublisher,
+                                      ObjectMapper objectMapper,
+                                      @Value("${videos.with-categories.max-limit:1000}") int withCategoriesMaxLimit,
+                                      @Value("${videos.with-categories.fetch-size:500}") int withCategoriesFetchSize,
+                                      @Value("${videos.by-category.default-limit:50}") int byCategoryDefaultLimit,
+                                      @Value("${videos.by-category.max-limit:200}") int byCategoryMaxLimit) {
         this.createOrUpdate = createOrUpdate;
         this.getByVideoId = getByVideoId;
         this.categoryRepository = categoryRepository;
+        this.categoryCatalog = categoryCatalog;
+        this.assignmentCache = assignmentCache;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.withCategoriesMaxLimit = withCategoriesMaxLimit;
+        this.withCategoriesFetchSize = withCategoriesFetchSize;
+        this.byCategoryDefaultLimit = byCategoryDefaultLimit;
+        this.byCategoryMaxLimit = byCategoryMaxLimit;
     }
     
     @PostMapping("/{videoId}/description")
@@ -54,30 +88,13 @@ public class VideoDescriptionController {
     public ResponseEntity<VideoDescriptionResponse> get(
             @PathVariable @NotBlank @Size(max = 128) String videoId
     ) {
-        try {
-            System.out.println("🔍 DEBUG: Buscando descrição para videoId: " + videoId);
-            System.out.println("🔍 DEBUG: Tamanho do videoId: " + videoId.length());
-            
-            Optional<VideoDescription> opt = getByVideoId.execute(videoId);
-            System.out.println("🔍 DEBUG: Resultado encontrado: " + opt.isPresent());
-            
-            return opt.map(v -> {
-                        System.out.println("🔍 DEBUG: Retornando descrição: " + v.getDescription());
-                        return ResponseEntity.ok()
-                                .header("Cache-Control", "no-cache, no-store, must-revalidate")
-                                .header("Pragma", "no-cache")
-                                .header("Expires", "0")
-                                .body(toResponse(v));
-                    })
-                    .orElseGet(() -> {
-                        System.out.println("🔍 DEBUG: Nenhuma descrição encontrada para videoId: " + videoId);
-                        return ResponseEntity.notFound().build();
-                    });
-        } catch (Exception e) {
-            System.err.println("❌ ERRO ao buscar descrição: " + e.getMessage());
-            e.printStackTrace();
-            throw e; // Re-throw para ver o stack trace completo
-        }
+        Optional<VideoDescription> opt = getByVideoId.execute(videoId);
+        return opt.map(v -> ResponseEntity.ok()
+                        .header("Cache-Control", "no-cache, no-store, must-revalidate")
+                        .header("Pragma", "no-cache")
+                        .header("Expires", "0")
+                        .body(toResponse(v)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     private static VideoDescriptionResponse toResponse(VideoDescription vd) {
@@ -93,14 +110,23 @@ public class VideoDescriptionController {
 
     /**
      * Lista todas as categorias de vídeo disponíveis.
+     * Servida do snapshot em memória, já serializada, com ETag forte para revalidação via If-None-Match.
      */
     @GetMapping("/categories")
-    public ResponseEntity<java.util.List<VideoCategoryResponse>> listCategories() {
-        java.util.List<VideoCategory> categories = categoryRepository.findAllCategories();
-        java.util.List<VideoCategoryResponse> response = categories.stream()
-                .map(c -> new VideoCategoryResponse(c.getId(), c.getName(), c.getSlug()))
-                .toList();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> listCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        VideoCategoryCatalog.Snapshot snapshot = categoryCatalog.get();
+        if (ifNoneMatch != null && ifNoneMatch.contains(snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
     }
 
     @PostMapping("/categories")
@@ -112,36 +138,112 @@ public class VideoDescriptionController {
             }
 
             String slug = slugify(name.trim());
-            VideoCategory created = categoryRepository.createCategory(name.trim(), slug);
+            VideoCategory created = categoryCatalog.create(name.trim(), slug);
             return ResponseEntity.ok(created);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Vídeos com descrição e categoria, em ordem de videoId, escritos direto na resposta
+     * conforme as linhas chegam do banco.
+     * Sem limit: array com todos os vídeos (formato original).
+     * Com limit: página {items, nextCursor, limit}; repita com cursor=nextCursor até vir null.
+     */
     @GetMapping("/videos-with-categories")
-    public ResponseEntity<List<VideoWithCategoryResponse>> getVideosWithCategories() {
+    public void getVideosWithCategories(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            HttpServletResponse response
+    ) throws IOException {
+        boolean paged = limit != null;
+        Integer pageSize = paged ? Math.max(1, Math.min(limit, withCategoriesMaxLimit)) : null;
+        String after = cursor != null && !cursor.isBlank() ? cursor : null;
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Sem try-with-resources: fechar o gerador completaria o JSON e enviaria a resposta mesmo em caso de erro
+        JsonGenerator json = objectMapper.createGenerator(response.getOutputStream());
         try {
-            List<VideoCategoryJdbcRepository.VideoWithCategoryInfo> videosWithCategories =
-                    categoryRepository.findAllVideosWithCategories();
+            if (paged) {
+                json.writeStartObject();
+                json.writeArrayFieldStart("items");
+            } else {
+                json.writeStartArray();
+            }
 
-            List<VideoWithCategoryResponse> response = videosWithCategories.stream()
-                    .map(info -> new VideoWithCategoryResponse(
+            String[] lastVideoId = new String[1];
+            int[] count = new int[1];
+            categoryRepository.forEachVideoWithCategory(after, pageSize, withCategoriesFetchSize, info -> {
+                try {
+                    json.writeObject(new VideoWithCategoryResponse(
                             info.getVideoId(),
                             null, // título será preenchido pelo frontend via Bunny
                             info.getDescription(),
                             info.getCategoryId(),
                             info.getCategoryName(),
                             info.getCategorySlug()
-                    ))
-                    .collect(Collectors.toList());
+                    ));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                lastVideoId[0] = info.getVideoId();
+                count[0]++;
+            });
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            json.writeEndArray();
+            if (paged) {
+                json.writeStringField("nextCursor", count[0] == pageSize ? lastVideoId[0] : null);
+                json.writeNumberField("limit", pageSize);
+                json.writeEndObject();
+            }
+            json.close();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Erro ao listar vídeos com categorias: " + e.getMessage());
+            // Antes do primeiro byte ainda dá para responder 500; depois, a resposta sai truncada
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
     }
 
+    /**
+     * Vídeos de uma categoria (pelo slug), em ordem de videoId.
+     * Para a próxima página, repita a chamada com o nextCursor da resposta.
+     */
+    @GetMapping(params = {"category", "!tags"})
+    public ResponseEntity<VideoWithCategoryPageResponse> getVideosByCategory(
+            @RequestParam("category") String categorySlug,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        var categoryOpt = categoryCatalog.findBySlug(categorySlug.trim());
+        if (categoryOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : byCategoryDefaultLimit, byCategoryMaxLimit));
+        String after = cursor != null && !cursor.isBlank() ? cursor : null;
+        // Uma linha a mais só para saber se existe próxima página
+        var rows = categoryRepository.findVideosByCategory(categoryOpt.get(), after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        var page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        var items = page.stream()
+                .map(info -> new VideoWithCategoryResponse(
+                        info.getVideoId(),
+                        null, // título será preenchido pelo frontend via Bunny
+                        info.getDescription(),
+                        info.getCategoryId(),
+                        info.getCategoryName(),
+                        info.getCategorySlug()
+                ))
+                .toList();
+        String nextCursor = hasMore ? page.get(page.size() - 1).getVideoId() : null;
+        return ResponseEntity.ok(new VideoWithCategoryPageResponse(items, nextCursor, pageSize));
+    }
+
     /**
      * Obtém a categoria atual associada a um vídeo (se existir).
      */
@@ -149,20 +251,14 @@ public class VideoDescriptionController {
     public ResponseEntity<VideoCategoryAssignmentResponse> getCategoryForVideo(
             @PathVariable @NotBlank @Size(max = 128) String videoId
     ) {
-        var assignmentOpt = categoryRepository.findAssignmentByVideoId(videoId);
-        if (assignmentOpt.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
-
-        VideoCategoryAssignment assignment = assignmentOpt.get();
-        var categoryOpt = categoryRepository.findCategoryById(assignment.getCategoryId());
+        var categoryOpt = assignmentCache.get(videoId);
         if (categoryOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         VideoCategory category = categoryOpt.get();
         var response = new VideoCategoryAssignmentResponse(
-                assignment.getVideoId(),
+                videoId,
                 category.getId(),
                 category.getName(),
                 category.getSlug()
@@ -180,13 +276,14 @@ public class VideoDescriptionController {
             @Valid @RequestBody SetVideoCategoryRequest request
     ) {
         Long categoryId = request.getCategoryId();
-        var categoryOpt = categoryRepository.findCategoryById(categoryId);
+        var categoryOpt = categoryCatalog.findById(categoryId);
         if (categoryOpt.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
         VideoCategory category = categoryOpt.get();
-        VideoCategoryAssignment assignment = categoryRepository.upsertAssignment(videoId, categoryId);
+        VideoCategoryAssignment assignment = assignmentCache.assign(videoId, category);
+        eventPublisher.publishEvent(new VideoMetadataChangedEvent(videoId));
 
         var response = new VideoCategoryAssignmentResponse(
                 assignment.getVideoId(),
@@ -198,7 +295,7 @@ public class VideoDescriptionController {
         return ResponseEntity.ok(response);
     }
 
-    private static String slugify(String input) {
+    static String slugify(String input) {
         String normalized = Normalizer.normalize(input, Normalizer.Form.NFD)
                 .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
         String slug = normalized
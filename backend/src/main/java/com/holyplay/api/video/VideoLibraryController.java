@@ -0,0 +1,93 @@
+package com.holyplay.api.video;
+
+import com.holyplay.api.video.dto.VideoLibraryPageResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Listagem pública da biblioteca de vídeos, servida pelo backend a partir do espelho local.
+ * Substitui as chamadas diretas do navegador à API da Bunny (que expunham a AccessKey).
+ */
+@RestController
+@RequestMapping("/api/videos")
+public class VideoLibraryController {
+
+    private final VideoLibrarySnapshot librarySnapshot;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final CacheControl cacheControl;
+
+    public VideoLibraryController(
+            VideoLibrarySnapshot librarySnapshot,
+            @Value("${videos.library.default-limit:50}") int defaultLimit,
+            @Value("${videos.library.max-limit:200}") int maxLimit,
+            @Value("${videos.library.max-age-seconds:30}") long maxAgeSeconds
+    ) {
+        this.librarySnapshot = librarySnapshot;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        // Navegadores e CDN reaproveitam a página por alguns segundos e depois revalidam via ETag
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(maxAgeSeconds * 2));
+    }
+
+    /**
+     * Página da biblioteca. Ordenações: date (padrão, mais recentes primeiro), title e views.
+     * Para a próxima página, repita a chamada com o nextCursor da resposta.
+     */
+    @GetMapping("/library")
+    public ResponseEntity<VideoLibraryPageResponse> getLibrary(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", defaultValue = "date") String sort,
+            @RequestParam(value = "order", required = false) String order,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        VideoLibrarySnapshot.Sort sortBy;
+        try {
+            sortBy = VideoLibrarySnapshot.Sort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean ascending;
+        if (order == null || order.isBlank()) {
+            ascending = sortBy.isAscendingByDefault();
+        } else if (order.equalsIgnoreCase("asc") || order.equalsIgnoreCase("desc")) {
+            ascending = order.equalsIgnoreCase("asc");
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : defaultLimit, maxLimit));
+
+        VideoLibrarySnapshot.Library library = librarySnapshot.get();
+        if (ifNoneMatch != null && ifNoneMatch.contains(library.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(library.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        VideoLibrarySnapshot.Page page;
+        try {
+            page = library.page(sortBy, ascending, cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .eTag(library.getEtag())
+                .cacheControl(cacheControl)
+                .body(new VideoLibraryPageResponse(page.getItems(), page.getNextCursor(), library.getTotalItems(), pageSize));
+    }
+}
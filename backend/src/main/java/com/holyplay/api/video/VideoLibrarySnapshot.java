@@ -0,0 +1,304 @@
+package com.holyplay.api.video;
+
+import com.holyplay.api.ContentEtag;
+import com.holyplay.api.video.dto.VideoLibraryItemResponse;
+import com.holyplay.infrastructure.bunny.BunnyStreamService;
+import com.holyplay.infrastructure.bunny.BunnyThumbnailCache;
+import com.holyplay.infrastructure.bunny.VideoCatalogChangedEvent;
+import com.holyplay.infrastructure.bunny.VideoCatalogJdbcRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Biblioteca de vídeos em memória, montada a partir do espelho local (video_catalog).
+ * A listagem pública é servida daqui sem consultar a Bunny nem o Postgres por requisição;
+ * o snapshot é trocado inteiro quando o espelho muda. As reconstruções rodam em segundo plano,
+ * e alterações que chegam enquanto uma ainda está na fila são agrupadas nela.
+ */
+@Component
+public class VideoLibrarySnapshot {
+
+    public enum Sort {
+        DATE(false), TITLE(true), VIEWS(false);
+
+        private final boolean ascendingByDefault;
+
+        Sort(boolean ascendingByDefault) {
+            this.ascendingByDefault = ascendingByDefault;
+        }
+
+        public boolean isAscendingByDefault() {
+            return ascendingByDefault;
+        }
+    }
+
+    private final VideoCatalogJdbcRepository catalogRepository;
+    private final BunnyStreamService bunnyStreamService;
+    private final ExecutorService executor;
+    private final AtomicReference<Library> current = new AtomicReference<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public VideoLibrarySnapshot(
+            VideoCatalogJdbcRepository catalogRepository,
+            BunnyStreamService bunnyStreamService,
+            @Qualifier("videoLibraryExecutor") ExecutorService executor
+    ) {
+        this.catalogRepository = catalogRepository;
+        this.bunnyStreamService = bunnyStreamService;
+        this.executor = executor;
+    }
+
+    /**
+     * Snapshot atual; a primeira leitura monta a biblioteca na hora
+     */
+    public Library get() {
+        Library library = current.get();
+        if (library != null) {
+            return library;
+        }
+        synchronized (this) {
+            library = current.get();
+            if (library == null) {
+                library = build();
+                current.set(library);
+            }
+            return library;
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(VideoCatalogChangedEvent event) {
+        if (event.getVideoIds().isEmpty() && !event.isViewsChanged() && current.get() != null) {
+            return;
+        }
+        if (rebuildPending.compareAndSet(false, true)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildPending.set(false);
+        try {
+            Library library = build();
+            current.set(library);
+            System.out.println("📚 Biblioteca de vídeos atualizada: " + library.getTotalItems() + " vídeos");
+        } catch (DataAccessException e) {
+            // Mantém o snapshot anterior; a próxima alteração do espelho tenta de novo
+            System.err.println("❌ Erro ao atualizar biblioteca de vídeos: " + e.getMessage());
+        }
+    }
+
+    private Library build() {
+        List<BunnyStreamService.BunnyVideo> videos = catalogRepository.findAllActive();
+        List<Entry> entries = new ArrayList<>(videos.size());
+        MessageDigest digest = ContentEtag.newDigest();
+        for (BunnyStreamService.BunnyVideo video : videos) {
+            VideoLibraryItemResponse item = new VideoLibraryItemResponse(
+                    video.videoId,
+                    video.title != null ? video.title : "Sem título",
+                    video.description,
+                    video.dateUploaded,
+                    video.views != null ? video.views : 0L,
+                    video.length != null ? video.length : 0,
+                    video.status,
+                    video.thumbnailFileName,
+                    video.thumbnailVerified
+                            ? video.thumbnailUrl
+                            : bunnyStreamService.getThumbnailUrl(video.videoId, video.thumbnailFileName),
+                    video.category
+            );
+            item.setThumbnailSize(video.thumbnailWidth, video.thumbnailHeight);
+            item.setThumbnailVersion(BunnyThumbnailCache.versionFor(video.thumbnailFileName));
+            entries.add(new Entry(item, uploadedAt(video.dateUploaded), titleKey(item.getTitle()), item.getViews()));
+            update(digest, video.videoId, item.getTitle(), video.description, video.dateUploaded,
+                    String.valueOf(item.getViews()), String.valueOf(item.getLength()), String.valueOf(video.status),
+                    video.thumbnailFileName, video.category, item.getThumbnailUrl(),
+                    String.valueOf(video.thumbnailWidth), String.valueOf(video.thumbnailHeight));
+        }
+        // ETag derivada do conteúdo: igual em todas as instâncias e entre reinícios
+        String etag = ContentEtag.of(digest);
+        return new Library(entries, etag);
+    }
+
+    private static long uploadedAt(String dateUploaded) {
+        if (dateUploaded == null) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return LocalDateTime.parse(dateUploaded).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Chave de ordenação por título: sem acentos e em minúsculas
+     */
+    private static String titleKey(String title) {
+        return Normalizer.normalize(title, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase();
+    }
+
+    private static void update(MessageDigest digest, String... values) {
+        for (String value : values) {
+            if (value != null) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+        }
+    }
+
+    private static final class Entry {
+        private final VideoLibraryItemResponse item;
+        private final long uploadedAt;
+        private final String titleKey;
+        private final long views;
+
+        Entry(VideoLibraryItemResponse item, long uploadedAt, String titleKey, long views) {
+            this.item = item;
+            this.uploadedAt = uploadedAt;
+            this.titleKey = titleKey;
+            this.views = views;
+        }
+
+        String videoId() {
+            return item.getVideoId();
+        }
+    }
+
+    /**
+     * Versão imutável da biblioteca. As ordenações são calculadas uma vez por snapshot, na primeira vez que são pedidas.
+     */
+    public static final class Library {
+        private final List<Entry> entries;
+        private final String etag;
+        private final Map<String, List<Entry>> sorted = new ConcurrentHashMap<>();
+
+        private Library(List<Entry> entries, String etag) {
+            this.entries = entries;
+            this.etag = etag;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public int getTotalItems() {
+            return entries.size();
+        }
+
+        /**
+         * Página seguinte ao cursor (paginação por chave: estável mesmo se vídeos entrarem ou saírem)
+         *
+         * @throws IllegalArgumentException se o cursor for inválido para a ordenação pedida
+         */
+        public Page page(Sort sort, boolean ascending, String cursor, int limit) {
+            Comparator<Entry> comparator = comparator(sort, ascending);
+            List<Entry> list = sorted.computeIfAbsent(sort.name() + ":" + ascending, key -> {
+                List<Entry> copy = new ArrayList<>(entries);
+                copy.sort(comparator);
+                return Collections.unmodifiableList(copy);
+            });
+
+            int from = 0;
+            if (cursor != null && !cursor.isEmpty()) {
+                int position = Collections.binarySearch(list, decodeCursor(sort, cursor), comparator);
+                from = position >= 0 ? position + 1 : -position - 1;
+            }
+            int to = Math.min(list.size(), from + limit);
+
+            List<VideoLibraryItemResponse> items = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                items.add(list.get(i).item);
+            }
+            String nextCursor = to < list.size() ? encodeCursor(sort, list.get(to - 1)) : null;
+            return new Page(items, nextCursor);
+        }
+
+        private static Comparator<Entry> comparator(Sort sort, boolean ascending) {
+            Comparator<Entry> byKey = switch (sort) {
+                case DATE -> Comparator.comparingLong(entry -> entry.uploadedAt);
+                case TITLE -> Comparator.comparing(entry -> entry.titleKey);
+                case VIEWS -> Comparator.comparingLong(entry -> entry.views);
+            };
+            Comparator<Entry> full = byKey.thenComparing(Entry::videoId);
+            return ascending ? full : full.reversed();
+        }
+
+        private static String encodeCursor(Sort sort, Entry last) {
+            String key = switch (sort) {
+                case DATE -> String.valueOf(last.uploadedAt);
+                case TITLE -> last.titleKey;
+                case VIEWS -> String.valueOf(last.views);
+            };
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((key + "\n" + last.videoId()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Entrada-sonda com a chave do cursor, usada apenas para a busca binária
+         */
+        private static Entry decodeCursor(Sort sort, String cursor) {
+            String decoded;
+            try {
+                decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            int separator = decoded.lastIndexOf('\n');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            String key = decoded.substring(0, separator);
+            String videoId = decoded.substring(separator + 1);
+            VideoLibraryItemResponse probe = new VideoLibraryItemResponse(videoId, null, null, null, 0L, 0, null, null, null, null);
+            try {
+                return switch (sort) {
+                    case DATE -> new Entry(probe, Long.parseLong(key), null, 0L);
+                    case TITLE -> new Entry(probe, 0L, key, 0L);
+                    case VIEWS -> new Entry(probe, 0L, null, Long.parseLong(key));
+                };
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido para a ordenação " + sort.name().toLowerCase());
+            }
+        }
+    }
+
+    public static final class Page {
+        private final List<VideoLibraryItemResponse> items;
+        private final String nextCursor;
+
+        private Page(List<VideoLibraryItemResponse> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<VideoLibraryItemResponse> getItems() {
+            return items;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.holyplay.api.video;
+
+import com.holyplay.api.video.dto.SetVideoTagsRequest;
+import com.holyplay.api.video.dto.VideoCategoryResponse;
+import com.holyplay.api.video.dto.VideoTagFilterResponse;
+import com.holyplay.domain.video.VideoCategory;
+import com.holyplay.domain.video.VideoTagFilter;
+import com.holyplay.infrastructure.video.VideoCategoryAssignmentCache;
+import com.holyplay.infrastructure.video.VideoTagIndex;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Tags dos vídeos (várias categorias por vídeo) e filtro do catálogo por expressão de tags,
+ * respondido pelo índice em memória.
+ */
+@RestController
+@RequestMapping("/api/videos")
+public class VideoTagController {
+
+    private final VideoTagIndex tagIndex;
+    private final VideoCategoryCatalog categoryCatalog;
+    private final VideoCategoryAssignmentCache assignmentCache;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public VideoTagController(
+            VideoTagIndex tagIndex,
+            VideoCategoryCatalog categoryCatalog,
+            VideoCategoryAssignmentCache assignmentCache,
+            @Value("${videos.tags.default-limit:50}") int defaultLimit,
+            @Value("${videos.tags.max-limit:500}") int maxLimit
+    ) {
+        this.tagIndex = tagIndex;
+        this.categoryCatalog = categoryCatalog;
+        this.assignmentCache = assignmentCache;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Vídeos que atendem à expressão, ex.: ?tags=(louvor OR pregacoes) AND infantil.
+     * Os termos são slugs de categoria (acentos e maiúsculas são normalizados); NOT considera
+     * apenas vídeos com ao menos uma tag. Para a próxima página, repita com cursor=nextCursor.
+     */
+    @GetMapping(params = {"tags", "!category"})
+    public ResponseEntity<VideoTagFilterResponse> filterByTags(
+            @RequestParam("tags") String expression,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : defaultLimit, maxLimit));
+        String after = cursor != null && !cursor.isBlank() ? cursor : null;
+
+        VideoTagIndex.Page page;
+        VideoTagFilter filter;
+        try {
+            filter = VideoTagFilter.parse(expression);
+            page = tagIndex.filter(filter, this::resolveTag, after, pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new VideoTagFilterResponse(
+                filter.getExpression(), page.getTotal(), page.getVideoIds(), page.getNextCursor(), pageSize));
+    }
+
+    /**
+     * ?tags= e ?category= são filtros alternativos; juntos, a requisição é inválida.
+     */
+    @GetMapping(params = {"tags", "category"})
+    public ResponseEntity<Void> filterByTagsAndCategory() {
+        return ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * Tags atuais do vídeo (lista vazia se não tiver nenhuma).
+     */
+    @GetMapping("/{videoId}/tags")
+    public ResponseEntity<List<VideoCategoryResponse>> getTags(
+            @PathVariable @NotBlank @Size(max = 128) String videoId
+    ) {
+        return ResponseEntity.ok(toResponse(tagIndex.tagsOf(videoId)));
+    }
+
+    /**
+     * Substitui as tags do vídeo; o índice é atualizado na hora.
+     * A categoria principal (PUT /{videoId}/category) continua entre as tags mesmo se não for enviada.
+     */
+    @PutMapping("/{videoId}/tags")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<VideoCategoryResponse>> setTags(
+            @PathVariable @NotBlank @Size(max = 128) String videoId,
+            @Valid @RequestBody SetVideoTagsRequest request
+    ) {
+        Set<Long> tagIds = new LinkedHashSet<>();
+        for (Long categoryId : request.getCategoryIds()) {
+            if (categoryId == null || categoryCatalog.findById(categoryId).isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            tagIds.add(categoryId);
+        }
+        assignmentCache.get(videoId).ifPresent(primary -> tagIds.add(primary.getId()));
+
+        tagIndex.replace(videoId, tagIds);
+        return ResponseEntity.ok(toResponse(tagIds));
+    }
+
+    /**
+     * Termo da expressão → id da categoria, pelo slug exato ou pelo slug gerado a partir do termo
+     */
+    private Long resolveTag(String term) {
+        Optional<VideoCategory> category = categoryCatalog.findBySlug(term);
+        if (category.isEmpty()) {
+            category = categoryCatalog.findBySlug(VideoDescriptionController.slugify(term));
+        }
+        return category
+                .orElseThrow(() -> new IllegalArgumentException("Tag desconhecida: " + term))
+                .getId();
+    }
+
+    private List<VideoCategoryResponse> toResponse(Set<Long> tagIds) {
+        return tagIds.stream()
+                .map(categoryCatalog::findById)
+                .flatMap(Optional::stream)
+                .map(c -> new VideoCategoryResponse(c.getId(), c.getName(), c.getSlug()))
+                .toList();
+    }
+}
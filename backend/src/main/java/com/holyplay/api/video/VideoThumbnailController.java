@@ -0,0 +1,116 @@
+package com.holyplay.api.video;
+
+import com.holyplay.infrastructure.bunny.BunnyApiException;
+import com.holyplay.infrastructure.bunny.BunnyThumbnailCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thumbnails dos vídeos servidas pelo backend a partir do cache em disco.
+ * Com ?v= da versão atual a resposta é imutável (cache de 1 ano); sem versão, o navegador
+ * revalida com ETag. O arquivo é entregue via sendfile do Tomcat quando disponível.
+ */
+@RestController
+@RequestMapping("/api/videos")
+public class VideoThumbnailController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl REVALIDATE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final BunnyThumbnailCache thumbnailCache;
+
+    public VideoThumbnailController(BunnyThumbnailCache thumbnailCache) {
+        this.thumbnailCache = thumbnailCache;
+    }
+
+    @GetMapping("/{videoId}/thumbnail")
+    public void getThumbnail(
+            @PathVariable String videoId,
+            @RequestParam(value = "w", defaultValue = "320") int width,
+            @RequestParam(value = "v", required = false) String version,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        if (!BunnyThumbnailCache.isValidVideoId(videoId)) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        Optional<BunnyThumbnailCache.Variant> variant;
+        try {
+            variant = thumbnailCache.get(videoId, width);
+        } catch (BunnyApiException | IllegalStateException | RejectedExecutionException | UncheckedIOException e) {
+            // Falha na Bunny, fila de thumbnails cheia ou erro ao gravar as variantes em disco
+            System.err.println("❌ Erro ao obter thumbnail de " + videoId + ": " + e.getMessage());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        if (variant.isEmpty()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofMinutes(1)).getHeaderValue());
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        BunnyThumbnailCache.Variant found = variant.get();
+        String etag = "\"" + found.getVersion() + "-" + found.getWidth() + "\"";
+        boolean versioned = found.getVersion().equals(version);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, (versioned ? IMMUTABLE : REVALIDATE).getHeaderValue());
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(found.getFile(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+            response.setContentLengthLong(size);
+            if ("HEAD".equals(request.getMethod())) {
+                return;
+            }
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Tomcat envia o arquivo direto do kernel para o socket ao fim da requisição
+                request.setAttribute(SENDFILE_FILENAME, found.getFile().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+            // Sem sendfile (ex.: HTTPS): transferTo evita cópias intermediárias em heap
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        } catch (NoSuchFileException e) {
+            // Variante removida pelo limite do cache entre a consulta e o envio; o cliente tenta de novo
+            response.reset();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+    }
+}
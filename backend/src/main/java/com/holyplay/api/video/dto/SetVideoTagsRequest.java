@@ -0,0 +1,23 @@
+package com.holyplay.api.video.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class SetVideoTagsRequest {
+
+    @NotNull(message = "categoryIds é obrigatório")
+    @Size(max = 50, message = "no máximo 50 tags por vídeo")
+    private List<Long> categoryIds;
+
+    public SetVideoTagsRequest() {}
+
+    public SetVideoTagsRequest(List<Long> categoryIds) {
+        this.categoryIds = categoryIds;
+    }
+
+    public List<Long> getCategoryIds() { return categoryIds; }
+
+    public void setCategoryIds(List<Long> categoryIds) { this.categoryIds = categoryIds; }
+}
@@ -0,0 +1,56 @@
+package com.holyplay.api.video.dto;
+
+public class VideoLibraryItemResponse {
+    private String videoId;
+    private String title;
+    private String description;
+    private String dateUploaded;
+    private long views;
+    private int length;
+    private Integer status;
+    private String thumbnailFileName;
+    private String thumbnailUrl;
+    private String category;
+    private Integer thumbnailWidth;
+    private Integer thumbnailHeight;
+    private String thumbnailVersion;
+
+    public VideoLibraryItemResponse(String videoId, String title, String description, String dateUploaded,
+                                    long views, int length, Integer status, String thumbnailFileName,
+                                    String thumbnailUrl, String category) {
+        this.videoId = videoId;
+        this.title = title;
+        this.description = description;
+        this.dateUploaded = dateUploaded;
+        this.views = views;
+        this.length = length;
+        this.status = status;
+        this.thumbnailFileName = thumbnailFileName;
+        this.thumbnailUrl = thumbnailUrl;
+        this.category = category;
+    }
+
+    public String getVideoId() { return videoId; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getDateUploaded() { return dateUploaded; }
+    public long getViews() { return views; }
+    public int getLength() { return length; }
+    public Integer getStatus() { return status; }
+    public String getThumbnailFileName() { return thumbnailFileName; }
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public String getCategory() { return category; }
+    public Integer getThumbnailWidth() { return thumbnailWidth; }
+    public Integer getThumbnailHeight() { return thumbnailHeight; }
+    /** Valor de ?v= para GET /api/videos/{id}/thumbnail (resposta imutável) */
+    public String getThumbnailVersion() { return thumbnailVersion; }
+
+    public void setThumbnailSize(Integer width, Integer height) {
+        this.thumbnailWidth = width;
+        this.thumbnailHeight = height;
+    }
+
+    public void setThumbnailVersion(String thumbnailVersion) {
+        this.thumbnailVersion = thumbnailVersion;
+    }
+}
@@ -0,0 +1,23 @@
+package com.holyplay.api.video.dto;
+
+import java.util.List;
+
+public class VideoLibraryPageResponse {
+    private List<VideoLibraryItemResponse> items;
+    private String nextCursor;
+    private int totalItems;
+    private int limit;
+
+    public VideoLibraryPageResponse(List<VideoLibraryItemResponse> items, String nextCursor, int totalItems, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.totalItems = totalItems;
+        this.limit = limit;
+    }
+
+    public List<VideoLibraryItemResponse> getItems() { return items; }
+    /** Cursor da próxima página; null na última */
+    public String getNextCursor() { return nextCursor; }
+    public int getTotalItems() { return totalItems; }
+    public int getLimit() { return limit; }
+}
@@ -0,0 +1,27 @@
+package com.holyplay.api.video.dto;
+
+import java.util.List;
+
+public class VideoTagFilterResponse {
+    private String filter;
+    private int total;
+    private List<String> videoIds;
+    private String nextCursor;
+    private int limit;
+
+    public VideoTagFilterResponse(String filter, int total, List<String> videoIds, String nextCursor, int limit) {
+        this.filter = filter;
+        this.total = total;
+        this.videoIds = videoIds;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    public String getFilter() { return filter; }
+    /** Total de vídeos que atendem ao filtro (todas as páginas) */
+    public int getTotal() { return total; }
+    public List<String> getVideoIds() { return videoIds; }
+    /** Cursor da próxima página; null na última */
+    public String getNextCursor() { return nextCursor; }
+    public int getLimit() { return limit; }
+}
@@ -0,0 +1,20 @@
+package com.holyplay.api.video.dto;
+
+import java.util.List;
+
+public class VideoWithCategoryPageResponse {
+    private List<VideoWithCategoryResponse> items;
+    private String nextCursor;
+    private int limit;
+
+    public VideoWithCategoryPageResponse(List<VideoWithCategoryResponse> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    public List<VideoWithCategoryResponse> getItems() { return items; }
+    /** Cursor da próxima página; null na última */
+    public String getNextCursor() { return nextCursor; }
+    public int getLimit() { return limit; }
+}
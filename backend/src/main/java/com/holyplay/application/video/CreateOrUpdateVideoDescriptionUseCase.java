@@ -2,8 +2,10 @@ package com.holyplay.application.video;
 
 import com.holyplay.domain.video.VideoDescription;
 import com.holyplay.domain.video.VideoDescriptionRepository;
+import com.holyplay.infrastructure.video.VideoMetadataChangedEvent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,9 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class CreateOrUpdateVideoDescriptionUseCase {
 
     private final VideoDescriptionRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CreateOrUpdateVideoDescriptionUseCase(VideoDescriptionRepository repository) {
+    public CreateOrUpdateVideoDescriptionUseCase(VideoDescriptionRepository repository,
+                                                 ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -21,6 +26,8 @@ public class CreateOrUpdateVideoDescriptionUseCase {
             @NotBlank @Size(max = 128) String videoId,
             @NotBlank @Size(max = 10000) String description
     ) {
-        return repository.upsert(videoId, description);
+        VideoDescription saved = repository.upsert(videoId, description);
+        eventPublisher.publishEvent(new VideoMetadataChangedEvent(videoId));
+        return saved;
     }
 }
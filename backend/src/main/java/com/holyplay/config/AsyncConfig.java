@@ -0,0 +1,106 @@
+package com.holyplay.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executores dedicados para trabalho assíncrono da aplicação.
+ * Mantidos separados do pool do Tomcat para que chamadas lentas à Bunny
+ * não consumam threads de requisição.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Agendador dos jobs @Scheduled (sincronizações em segundo plano).
+     * Declarado explicitamente para não reaproveitar os executores abaixo.
+     */
+    @Bean
+    public TaskScheduler taskScheduler(@Value("${scheduler.threads:2}") int threads) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(threads);
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+
+    /**
+     * Pool limitado usado pelo cache de vídeos da Bunny para carregar e recarregar entradas.
+     * Fila limitada: quando cheia, a carga falha na hora e o vídeo cai no fallback.
+     */
+    @Bean
+    public ExecutorService bunnyLookupExecutor(
+            @Value("${bunny.lookup.threads:16}") int threads,
+            @Value("${bunny.lookup.queue-capacity:256}") int queueCapacity
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedDaemonThreads("bunny-lookup-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Pool pequeno para baixar e redimensionar thumbnails; fila limitada para não acumular trabalho.
+     */
+    @Bean
+    public ExecutorService thumbnailExecutor(
+            @Value("${thumbnails.threads:2}") int threads,
+            @Value("${thumbnails.queue-capacity:64}") int queueCapacity
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedDaemonThreads("thumbnail-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Thread única que reconstrói o snapshot da home em segundo plano.
+     */
+    @Bean
+    public ScheduledExecutorService homeSnapshotExecutor() {
+        return Executors.newSingleThreadScheduledExecutor(namedDaemonThreads("home-snapshot-"));
+    }
+
+    /**
+     * Thread única que reconstrói a biblioteca de vídeos em memória quando o espelho muda.
+     */
+    @Bean
+    public ExecutorService videoLibraryExecutor() {
+        return Executors.newSingleThreadExecutor(namedDaemonThreads("video-library-"));
+    }
+
+    static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
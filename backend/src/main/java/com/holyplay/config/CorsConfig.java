@@ -16,6 +16,9 @@ import java.util.stream.Collectors;
 @Configuration
 public class CorsConfig implements WebMvcConfigurer {
 
+    // Cabeçalhos que o navegador precisa ler nos uploads retomáveis e respostas com ETag
+    private static final String[] UPLOAD_HEADERS = {"Location", "Upload-Offset", "Upload-Length", "Tus-Resumable", "ETag", "Retry-After"};
+
     @Value("${cors.allowed.origins:*}")
     private String allowedOrigins;
 
@@ -29,8 +32,9 @@ public class CorsConfig implements WebMvcConfigurer {
 
         registry.addMapping("/api/**")
                 .allowedOriginPatterns(origins.toArray(new String[0]))
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(UPLOAD_HEADERS)
                 .allowCredentials(!allowAll) // Só habilita cookies/credenciais quando não for "*"
                 .maxAge(3600);
 
@@ -47,8 +51,9 @@ public class CorsConfig implements WebMvcConfigurer {
                 .collect(Collectors.toList());
 
         configuration.setAllowedOriginPatterns(origins);
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(UPLOAD_HEADERS));
         configuration.setAllowCredentials(!allowAll);  // false quando "*", true quando domínios específicos
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,13 @@
+package com.holyplay.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Padrões do Actuator/Micrometer (exposição do /actuator/prometheus e histogramas).
+ * O application.properties local tem precedência sobre estes valores.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
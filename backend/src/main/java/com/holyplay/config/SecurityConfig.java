@@ -42,10 +42,15 @@ public class SecurityConfig {
                 .requestMatchers("/api/users/test/**").permitAll()
                 // Permitir acesso público aos endpoints de saúde
                 .requestMatchers("/api/health/**").permitAll()
+                // Health do Actuator é público; métricas expõem estado interno e exigem admin
+                .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                 // Permitir acesso público para LEITURA das configurações da home
                 .requestMatchers("GET", "/api/home/configurations/**").permitAll()
                 // Permitir acesso público ao endpoint da home page
                 .requestMatchers("GET", "/api/home/configurations/home-page").permitAll()
+                // Webhooks da Bunny (autenticados por token próprio no controller)
+                .requestMatchers("POST", "/api/bunny/webhook").permitAll()
                 // Permitir acesso público aos endpoints de vídeos (descrições)
                 .requestMatchers("/api/videos/**").permitAll()
                 // Todos os outros endpoints requerem autenticação
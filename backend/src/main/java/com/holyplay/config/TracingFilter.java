@@ -0,0 +1,61 @@
+package com.holyplay.config;
+
+import com.holyplay.infrastructure.tracing.Trace;
+import com.holyplay.infrastructure.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Abre o trace das requisições amostradas (antes da segurança) e o encerra ao final,
+ * nomeado pela rota do controller. O id do trace volta no cabeçalho X-Trace-Id.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !tracer.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Trace trace = tracer.begin(request.getMethod() + " " + request.getRequestURI());
+        if (trace == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader("X-Trace-Id", trace.getTraceId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Rota do mapeamento (ex.: /api/videos/{videoId}/description) agrupa melhor que a URI
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                trace.setName(request.getMethod() + " " + pattern);
+            }
+            trace.setStatus(response.getStatus());
+            tracer.end(trace);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.holyplay.domain.video;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -7,5 +9,6 @@ import java.util.Optional;
  */
 public interface VideoDescriptionRepository {
     Optional<VideoDescription> findByVideoId(String videoId);
+    Map<String, VideoDescription> findByVideoIds(Collection<String> videoIds);
     VideoDescription upsert(String videoId, String description);
 }
@@ -0,0 +1,223 @@
+package com.holyplay.domain.video;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Expressão de filtro por tags, ex.: (louvor OR pregacoes) AND infantil.
+ * Operadores AND, OR e NOT (sem diferenciar maiúsculas) e parênteses; NOT tem a maior
+ * precedência e OR a menor. Termos com espaço vão entre aspas: "estudo biblico".
+ * A interpretação dos termos e das operações fica com quem avalia (ver {@link Evaluator}).
+ */
+public final class VideoTagFilter {
+
+    public static final int MAX_LENGTH = 512;
+
+    private final String expression;
+    private final Node root;
+    private final Set<String> terms;
+
+    private VideoTagFilter(String expression, Node root, Set<String> terms) {
+        this.expression = expression;
+        this.root = root;
+        this.terms = terms;
+    }
+
+    /**
+     * @throws IllegalArgumentException se a expressão estiver vazia, for longa demais ou tiver erro de sintaxe
+     */
+    public static VideoTagFilter parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Filtro de tags vazio");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Filtro de tags maior que " + MAX_LENGTH + " caracteres");
+        }
+        Parser parser = new Parser(tokenize(expression));
+        Node root = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Trecho inesperado no filtro: " + parser.tokens.get(parser.position).text);
+        }
+        return new VideoTagFilter(expression.trim(), root, Collections.unmodifiableSet(parser.terms));
+    }
+
+    public String getExpression() { return expression; }
+
+    /**
+     * Termos distintos da expressão, na ordem em que aparecem
+     */
+    public Set<String> getTerms() { return terms; }
+
+    public <R> R evaluate(Evaluator<R> evaluator) {
+        return root.evaluate(evaluator);
+    }
+
+    /**
+     * Avaliação da expressão de baixo para cima: cada termo vira um R e os operadores combinam os resultados
+     */
+    public interface Evaluator<R> {
+        R term(String term);
+        R and(R left, R right);
+        R or(R left, R right);
+        R not(R operand);
+    }
+
+    private interface Node {
+        <R> R evaluate(Evaluator<R> evaluator);
+    }
+
+    private static final class Term implements Node {
+        private final String term;
+
+        private Term(String term) { this.term = term; }
+
+        @Override
+        public <R> R evaluate(Evaluator<R> evaluator) { return evaluator.term(term); }
+    }
+
+    private static final class And implements Node {
+        private final Node left;
+        private final Node right;
+
+        private And(Node left, Node right) { this.left = left; this.right = right; }
+
+        @Override
+        public <R> R evaluate(Evaluator<R> evaluator) {
+            return evaluator.and(left.evaluate(evaluator), right.evaluate(evaluator));
+        }
+    }
+
+    private static final class Or implements Node {
+        private final Node left;
+        private final Node right;
+
+        private Or(Node left, Node right) { this.left = left; this.right = right; }
+
+        @Override
+        public <R> R evaluate(Evaluator<R> evaluator) {
+            return evaluator.or(left.evaluate(evaluator), right.evaluate(evaluator));
+        }
+    }
+
+    private static final class Not implements Node {
+        private final Node operand;
+
+        private Not(Node operand) { this.operand = operand; }
+
+        @Override
+        public <R> R evaluate(Evaluator<R> evaluator) { return evaluator.not(operand.evaluate(evaluator)); }
+    }
+
+    private enum TokenType { TERM, AND, OR, NOT, OPEN, CLOSE }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String text;
+
+        private Token(TokenType type, String text) { this.type = type; this.text = text; }
+    }
+
+    private static List<Token> tokenize(String expression) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = expression.length();
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(') {
+                tokens.add(new Token(TokenType.OPEN, "("));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(TokenType.CLOSE, ")"));
+                i++;
+            } else if (c == '"') {
+                int end = expression.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Aspas sem fechamento no filtro");
+                }
+                String term = expression.substring(i + 1, end).trim();
+                if (term.isEmpty()) {
+                    throw new IllegalArgumentException("Termo vazio no filtro");
+                }
+                tokens.add(new Token(TokenType.TERM, term));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < length && !Character.isWhitespace(expression.charAt(i))
+                        && "()\"".indexOf(expression.charAt(i)) < 0) {
+                    i++;
+                }
+                String word = expression.substring(start, i);
+                switch (word.toUpperCase(Locale.ROOT)) {
+                    case "AND" -> tokens.add(new Token(TokenType.AND, word));
+                    case "OR" -> tokens.add(new Token(TokenType.OR, word));
+                    case "NOT" -> tokens.add(new Token(TokenType.NOT, word));
+                    default -> tokens.add(new Token(TokenType.TERM, word));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Descida recursiva: or := and (OR and)* ; and := unary (AND unary)* ; unary := NOT unary | ( or ) | termo
+     */
+    private static final class Parser {
+        private final List<Token> tokens;
+        private final Set<String> terms = new LinkedHashSet<>();
+        private int position;
+
+        private Parser(List<Token> tokens) { this.tokens = tokens; }
+
+        private Node parseOr() {
+            Node node = parseAnd();
+            while (accept(TokenType.OR)) {
+                node = new Or(node, parseAnd());
+            }
+            return node;
+        }
+
+        private Node parseAnd() {
+            Node node = parseUnary();
+            while (accept(TokenType.AND)) {
+                node = new And(node, parseUnary());
+            }
+            return node;
+        }
+
+        private Node parseUnary() {
+            if (position >= tokens.size()) {
+                throw new IllegalArgumentException("Filtro terminou antes do esperado");
+            }
+            Token token = tokens.get(position++);
+            switch (token.type) {
+                case NOT:
+                    return new Not(parseUnary());
+                case OPEN:
+                    Node inner = parseOr();
+                    if (!accept(TokenType.CLOSE)) {
+                        throw new IllegalArgumentException("Parêntese sem fechamento no filtro");
+                    }
+                    return inner;
+                case TERM:
+                    terms.add(token.text);
+                    return new Term(token.text);
+                default:
+                    throw new IllegalArgumentException("Trecho inesperado no filtro: " + token.text);
+            }
+        }
+
+        private boolean accept(TokenType type) {
+            if (position < tokens.size() && tokens.get(position).type == type) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
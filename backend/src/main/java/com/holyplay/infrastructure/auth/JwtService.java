@@ -1,6 +1,7 @@
 package com.holyplay.infrastructure.auth;
 
 import com.holyplay.domain.user.User;
+import com.holyplay.infrastructure.jfr.JwtParseEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -49,11 +50,29 @@ public class JwtService {
     }
 
     public Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        // Chamado em toda requisição autenticada: sem gravação JFR ativa, nem cria o evento
+        JwtParseEvent event = JwtParseEvent.enabled() ? new JwtParseEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        boolean valid = false;
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            valid = true;
+            return claims;
+        } finally {
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.valid = valid;
+                    event.commit();
+                }
+            }
+        }
     }
 
     public String extractEmail(String token) {
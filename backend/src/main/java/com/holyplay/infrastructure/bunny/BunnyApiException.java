@@ -0,0 +1,28 @@
+package com.holyplay.infrastructure.bunny;
+
+/**
+ * Falha em uma chamada à API da Bunny Stream (status inesperado, timeout ou erro de rede).
+ */
+public class BunnyApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public BunnyApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public BunnyApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+
+    /**
+     * Status HTTP retornado pela Bunny, ou 0 quando não houve resposta
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
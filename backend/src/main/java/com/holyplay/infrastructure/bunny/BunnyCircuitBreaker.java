@@ -0,0 +1,219 @@
+package com.holyplay.infrastructure.bunny;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker das chamadas à Bunny.
+ * Abre quando a taxa de falhas (erros 5xx/429, timeouts, falhas de rede) na janela recente
+ * passa do limite; enquanto aberto, as chamadas falham na hora. Após o tempo de espera,
+ * algumas chamadas de teste (meio-aberto) decidem se o tráfego volta ao normal.
+ */
+@Component
+public class BunnyCircuitBreaker implements MeterBinder {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenPermits;
+
+    // Janela circular com o resultado das últimas chamadas (true = falha)
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+    private Instant lastTransitionAt = Instant.now();
+    private final Map<State, Long> transitions = new EnumMap<>(State.class);
+    private long rejectedCalls;
+
+    public BunnyCircuitBreaker(
+            ApplicationEventPublisher eventPublisher,
+            @Value("${bunny.breaker.window-size:20}") int windowSize,
+            @Value("${bunny.breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${bunny.breaker.failure-rate:0.5}") double failureRateThreshold,
+            @Value("${bunny.breaker.open-duration-ms:30000}") long openDurationMs,
+            @Value("${bunny.breaker.half-open-calls:3}") int halfOpenPermits
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenPermits = halfOpenPermits;
+        this.window = new boolean[windowSize];
+        for (State s : State.values()) {
+            transitions.put(s, 0L);
+        }
+    }
+
+    /**
+     * Verifica se uma chamada pode seguir. Quando falso, o chamador deve falhar imediatamente.
+     */
+    public boolean tryAcquirePermission() {
+        State from;
+        synchronized (this) {
+            from = state;
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                    rejectedCalls++;
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (halfOpenInFlight >= halfOpenPermits) {
+                rejectedCalls++;
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        if (from == State.OPEN) {
+            publish(from, State.HALF_OPEN);
+        }
+        return true;
+    }
+
+    /**
+     * Indica, sem consumir permissão, que o breaker está aberto e ainda recusaria uma chamada agora
+     */
+    public synchronized boolean isRejecting() {
+        return state == State.OPEN && System.nanoTime() - openedAtNanos < openDurationNanos;
+    }
+
+    public void onSuccess() {
+        record(false);
+    }
+
+    public void onFailure() {
+        record(true);
+    }
+
+    private void record(boolean failure) {
+        State from;
+        State to;
+        synchronized (this) {
+            from = state;
+            if (state == State.HALF_OPEN) {
+                halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+                if (failure) {
+                    open();
+                } else if (++halfOpenSuccesses >= halfOpenPermits) {
+                    transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                addToWindow(failure);
+                if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                    open();
+                }
+            }
+            to = state;
+        }
+        if (from != to) {
+            publish(from, to);
+        }
+    }
+
+    private void addToWindow(boolean failure) {
+        if (windowCount == windowSize) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        lastTransitionAt = Instant.now();
+        transitions.merge(next, 1L, Long::sum);
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (next == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+
+    private void publish(State from, State to) {
+        if (to == State.OPEN) {
+            System.err.println("🔴 Circuit breaker da Bunny ABERTO (" + from + " → " + to + ")");
+        } else {
+            System.out.println("🟡 Circuit breaker da Bunny: " + from + " → " + to);
+        }
+        eventPublisher.publishEvent(new BunnyCircuitStateChangedEvent(from, to));
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getTransitionCount(State target) {
+        return transitions.get(target);
+    }
+
+    public synchronized long getRejectedCalls() {
+        return rejectedCalls;
+    }
+
+    /**
+     * Estado atual (0 fechado, 1 meio-aberto, 2 aberto), chamadas recusadas e aberturas
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bunny.breaker.state", this, breaker -> breaker.getState() == State.OPEN ? 2
+                        : breaker.getState() == State.HALF_OPEN ? 1 : 0)
+                .description("Estado do circuit breaker da Bunny (0 fechado, 1 meio-aberto, 2 aberto)")
+                .register(registry);
+        FunctionCounter.builder("bunny.breaker.rejected", this, BunnyCircuitBreaker::getRejectedCalls)
+                .register(registry);
+        FunctionCounter.builder("bunny.breaker.opened", this, breaker -> breaker.getTransitionCount(State.OPEN))
+                .register(registry);
+    }
+
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("state", state.name());
+        map.put("lastTransitionAt", lastTransitionAt.toString());
+        map.put("recentCalls", windowCount);
+        map.put("recentFailures", windowFailures);
+        map.put("rejectedCalls", rejectedCalls);
+        map.put("timesOpened", transitions.get(State.OPEN));
+        map.put("timesHalfOpened", transitions.get(State.HALF_OPEN));
+        map.put("timesClosed", transitions.get(State.CLOSED));
+        return map;
+    }
+}
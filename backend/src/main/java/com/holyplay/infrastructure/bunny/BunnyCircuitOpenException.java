@@ -0,0 +1,13 @@
+package com.holyplay.infrastructure.bunny;
+
+/**
+ * Chamada recusada sem acessar a rede porque o circuit breaker da Bunny está aberto.
+ */
+public class BunnyCircuitOpenException extends BunnyApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BunnyCircuitOpenException() {
+        super(0, "Circuit breaker da Bunny aberto; chamada recusada");
+    }
+}
@@ -0,0 +1,23 @@
+package com.holyplay.infrastructure.bunny;
+
+/**
+ * Publicado quando o circuit breaker da Bunny muda de estado, para alertas e métricas
+ */
+public class BunnyCircuitStateChangedEvent {
+
+    private final BunnyCircuitBreaker.State from;
+    private final BunnyCircuitBreaker.State to;
+
+    public BunnyCircuitStateChangedEvent(BunnyCircuitBreaker.State from, BunnyCircuitBreaker.State to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public BunnyCircuitBreaker.State getFrom() {
+        return from;
+    }
+
+    public BunnyCircuitBreaker.State getTo() {
+        return to;
+    }
+}
@@ -0,0 +1,83 @@
+package com.holyplay.infrastructure.bunny;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de uso e latência do cliente HTTP da Bunny.
+ * Atualizados sem lock no caminho de cada requisição.
+ */
+public class BunnyClientStats {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder http11Responses = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    void onStart() {
+        requests.increment();
+        int current = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(current, Math::max);
+    }
+
+    void onComplete(long startNanos, HttpResponse<?> response, Throwable error) {
+        inFlight.decrementAndGet();
+        long elapsed = System.nanoTime() - startNanos;
+        totalLatencyNanos.add(elapsed);
+        maxLatencyNanos.accumulateAndGet(elapsed, Math::max);
+
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException || cause instanceof HttpTimeoutException) {
+                timeouts.increment();
+            } else {
+                errors.increment();
+            }
+            return;
+        }
+        if (response.statusCode() >= 500) {
+            errors.increment();
+        }
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        } else {
+            http11Responses.increment();
+        }
+    }
+
+    public long getRequests() { return requests.sum(); }
+    public long getErrors() { return errors.sum(); }
+    public long getTimeouts() { return timeouts.sum(); }
+    public int getInFlight() { return inFlight.get(); }
+    public int getPeakInFlight() { return peakInFlight.get(); }
+    public long getTotalLatencyNanos() { return totalLatencyNanos.sum(); }
+    public long getMaxLatencyNanos() { return maxLatencyNanos.get(); }
+
+    public Map<String, Object> toMap() {
+        long count = getRequests() - getInFlight();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("requests", getRequests());
+        map.put("errors", getErrors());
+        map.put("timeouts", getTimeouts());
+        map.put("inFlight", getInFlight());
+        map.put("peakInFlight", getPeakInFlight());
+        map.put("http2Responses", http2Responses.sum());
+        map.put("http11Responses", http11Responses.sum());
+        map.put("avgLatencyMs", count > 0 ? getTotalLatencyNanos() / count / 1_000_000.0 : 0.0);
+        map.put("maxLatencyMs", getMaxLatencyNanos() / 1_000_000.0);
+        return map;
+    }
+}
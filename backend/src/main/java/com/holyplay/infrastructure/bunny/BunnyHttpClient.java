@@ -0,0 +1,479 @@
+package com.holyplay.infrastructure.bunny;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holyplay.infrastructure.jfr.BunnyHttpEvent;
+import com.holyplay.infrastructure.tracing.Trace;
+import com.holyplay.infrastructure.tracing.Tracer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cliente HTTP dedicado à API da Bunny Stream.
+ * Uma única instância do HttpClient do JDK mantém o pool de conexões persistentes
+ * (HTTP/2 quando o servidor suporta, HTTP/1.1 keep-alive caso contrário) e aplica
+ * timeouts de conexão, leitura e total em todas as chamadas.
+ */
+@Component
+public class BunnyHttpClient implements DisposableBean, MeterBinder {
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    // Uploads têm cliente e threads próprios: um pedaço lento não ocupa o pool das chamadas à API
+    private final HttpClient uploadClient;
+    private final ExecutorService uploadExecutor;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String apiKey;
+    private final String libraryId;
+    private final Duration readTimeout;
+    private final long totalTimeoutMs;
+    private final String[] jsonHeaders;
+    private final BunnyClientStats stats = new BunnyClientStats();
+    private final BunnyCircuitBreaker circuitBreaker;
+    private final BunnyRateLimiter rateLimiter;
+    private final Tracer tracer;
+    private volatile MeterRegistry meterRegistry;
+    // Timers já registrados, por método/destino/resultado: o caminho quente só faz um lookup
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    public BunnyHttpClient(
+            ObjectMapper objectMapper,
+            BunnyCircuitBreaker circuitBreaker,
+            BunnyRateLimiter rateLimiter,
+            Tracer tracer,
+            @Value("${bunny.api.base-url:https://video.bunnycdn.com}") String baseUrl,
+            @Value("${bunny.api.key:}") String apiKey,
+            @Value("${bunny.library.id:}") String libraryId,
+            @Value("${bunny.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${bunny.http.read-timeout-ms:3000}") long readTimeoutMs,
+            @Value("${bunny.http.total-timeout-ms:5000}") long totalTimeoutMs,
+            @Value("${bunny.http.threads:4}") int threads
+    ) {
+        // Tamanho do pool e keep-alive das conexões são propriedades da JVM inteira (jdk.httpclient.*),
+        // lidas uma única vez pelo JDK: ficam no BUNNY_HTTP_OPTS do Dockerfile, não aqui
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.tracer = tracer;
+        this.baseUrl = baseUrl.trim().replaceAll("/+$", "");
+        this.apiKey = apiKey.trim();
+        this.libraryId = libraryId.trim();
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.totalTimeoutMs = totalTimeoutMs;
+        this.jsonHeaders = new String[] {"AccessKey", this.apiKey, "Accept", "application/json"};
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bunny-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+
+        // Sem limite fixo: cada pedaço em andamento já prende uma thread de requisição do Tomcat
+        AtomicInteger uploadCounter = new AtomicInteger();
+        this.uploadExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "bunny-upload-" + uploadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.uploadClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(uploadExecutor)
+                .build();
+    }
+
+    public boolean isConfigured() {
+        return !apiKey.isEmpty() && !libraryId.isEmpty();
+    }
+
+    public String getLibraryId() {
+        return libraryId;
+    }
+
+    public BunnyClientStats getStats() {
+        return stats;
+    }
+
+    public BunnyCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public BunnyRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Latência por método, destino (api/cdn) e resultado, além de chamadas em andamento e timeouts
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        Gauge.builder("bunny.client.in.flight", stats, BunnyClientStats::getInFlight).register(registry);
+        FunctionCounter.builder("bunny.client.timeouts", stats, BunnyClientStats::getTimeouts).register(registry);
+        FunctionCounter.builder("bunny.client.errors", stats, BunnyClientStats::getErrors).register(registry);
+    }
+
+    /**
+     * Busca os metadados de um vídeo na fila de prioridade informada. Vazio quando a Bunny responde 404.
+     */
+    public CompletableFuture<Optional<BunnyStreamService.BunnyVideo>> getVideoAsync(String videoId, BunnyPriority priority) {
+        HttpRequest request = libraryRequest("/videos/" + videoId).GET().build();
+        return send(request, HttpResponse.BodyHandlers.ofByteArray(), priority).thenApply(response -> {
+            if (response.statusCode() == 404) {
+                return Optional.empty();
+            }
+            requireSuccess(response, "GET vídeo " + videoId);
+            return Optional.of(readJson(response.body(), BunnyStreamService.BunnyVideo.class));
+        });
+    }
+
+    /**
+     * Lista uma página da biblioteca, dos vídeos mais recentes para os mais antigos
+     */
+    public CompletableFuture<BunnyVideoPage> listVideosAsync(int page, int itemsPerPage) {
+        HttpRequest request = libraryRequest("/videos?page=" + page + "&itemsPerPage=" + itemsPerPage + "&orderBy=date")
+                .GET()
+                .build();
+        return send(request, HttpResponse.BodyHandlers.ofByteArray(), BunnyPriority.BACKGROUND).thenApply(response -> {
+            requireSuccess(response, "GET lista de vídeos (página " + page + ")");
+            return readJson(response.body(), BunnyVideoPage.class);
+        });
+    }
+
+    /**
+     * Baixa um arquivo público da CDN (ex.: thumbnail). Vazio quando o arquivo não existe (403/404).
+     * A CDN não consome a cota da API, então não passa pelo limitador de taxa.
+     */
+    public CompletableFuture<Optional<byte[]>> fetchCdnAsync(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header("Accept", "image/*")
+                .GET()
+                .build();
+        return send(request, HttpResponse.BodyHandlers.ofByteArray(), false).thenApply(response -> {
+            if (response.statusCode() == 404 || response.statusCode() == 403) {
+                return Optional.empty();
+            }
+            requireSuccess(response, "GET " + uri);
+            return Optional.of(response.body());
+        });
+    }
+
+    /**
+     * Cria o registro de um vídeo na biblioteca (apenas metadados), antes do envio do arquivo
+     */
+    public CompletableFuture<BunnyStreamService.BunnyVideo> createVideoAsync(String title) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(Map.of("title", title));
+        } catch (IOException e) {
+            throw new BunnyApiException("Falha ao montar requisição de criação de vídeo", e);
+        }
+        HttpRequest request = libraryRequest("/videos")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return send(request, HttpResponse.BodyHandlers.ofByteArray(), BunnyPriority.ADMIN).thenApply(response -> {
+            requireSuccess(response, "POST criar vídeo");
+            return readJson(response.body(), BunnyStreamService.BunnyVideo.class);
+        });
+    }
+
+    /**
+     * Abre um upload retomável (TUS) na Bunny para o vídeo informado e retorna a URL do upload
+     */
+    public CompletableFuture<URI> createTusUploadAsync(String videoId, long length, long expiresAt, String fileName) {
+        URI endpoint = URI.create(baseUrl + "/tusupload");
+        HttpRequest request = tusRequest(endpoint, videoId, expiresAt)
+                .header("Upload-Length", String.valueOf(length))
+                .header("Upload-Metadata", "filetype " + base64("video/*") + ",title " + base64(fileName))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return send(request, HttpResponse.BodyHandlers.discarding(), BunnyPriority.ADMIN).thenApply(response -> {
+            requireSuccess(response, "POST criar upload TUS do vídeo " + videoId);
+            String location = response.headers().firstValue("Location")
+                    .orElseThrow(() -> new BunnyApiException(response.statusCode(), "Bunny não retornou a URL do upload TUS"));
+            return endpoint.resolve(location);
+        });
+    }
+
+    /**
+     * Offset já confirmado pela Bunny para um upload TUS
+     */
+    public CompletableFuture<Long> getTusOffsetAsync(URI uploadUri, String videoId, long expiresAt) {
+        HttpRequest request = tusRequest(uploadUri, videoId, expiresAt)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return send(request, HttpResponse.BodyHandlers.discarding(), BunnyPriority.ADMIN).thenApply(response -> {
+            requireSuccess(response, "HEAD upload TUS do vídeo " + videoId);
+            return uploadOffset(response);
+        });
+    }
+
+    /**
+     * Envia um pedaço do arquivo para o upload TUS, repassando o stream recebido sem acumulá-lo em memória.
+     * Não passa pelo timeout total, pelo circuit breaker nem pelo limitador de taxa: a duração
+     * depende do tamanho do pedaço e a sessão TUS já foi aberta dentro da cota.
+     * Usa o cliente de uploads, cujas threads leem o corpo da requisição sem disputar com a API.
+     */
+    public CompletableFuture<Long> patchTusUploadAsync(URI uploadUri, String videoId, long expiresAt,
+                                                       long offset, long length, InputStream body, Duration timeout) {
+        HttpRequest request = tusRequest(uploadUri, videoId, expiresAt)
+                .timeout(timeout)
+                .header("Upload-Offset", String.valueOf(offset))
+                .header("Content-Type", "application/offset+octet-stream")
+                .method("PATCH", HttpRequest.BodyPublishers.fromPublisher(
+                        HttpRequest.BodyPublishers.ofInputStream(() -> body), length))
+                .build();
+        long start = System.nanoTime();
+        BunnyHttpEvent event = beginEvent();
+        stats.onStart();
+        return uploadClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    stats.onComplete(start, response, error);
+                    record(request, "upload", start, response, error);
+                    commitEvent(event, request, "upload", response, error);
+                })
+                .thenApply(response -> {
+                    requireSuccess(response, "PATCH upload TUS do vídeo " + videoId);
+                    return uploadOffset(response);
+                });
+    }
+
+    private HttpRequest.Builder tusRequest(URI uri, String videoId, long expiresAt) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header("Tus-Resumable", "1.0.0")
+                .header("AuthorizationSignature", tusSignature(videoId, expiresAt))
+                .header("AuthorizationExpire", String.valueOf(expiresAt))
+                .header("VideoId", videoId)
+                .header("LibraryId", libraryId);
+    }
+
+    /**
+     * Assinatura exigida pela Bunny nos uploads TUS: sha256(library_id + api_key + expiration_time + video_id)
+     */
+    private String tusSignature(String videoId, long expiresAt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((libraryId + apiKey + expiresAt + videoId).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static long uploadOffset(HttpResponse<?> response) {
+        return response.headers().firstValue("Upload-Offset")
+                .map(Long::parseLong)
+                .orElseThrow(() -> new BunnyApiException(response.statusCode(), "Bunny não retornou Upload-Offset"));
+    }
+
+    private static String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Monta uma requisição para um caminho da biblioteca, já com cabeçalhos e timeout de leitura
+     */
+    HttpRequest.Builder libraryRequest(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/library/" + libraryId + path))
+                .timeout(readTimeout)
+                .headers(jsonHeaders);
+    }
+
+    /**
+     * Envia a requisição aplicando o timeout total e registrando as estatísticas.
+     * Antes, espera uma ficha do limitador na fila da prioridade informada; o timeout total
+     * só começa a contar quando a ficha é concedida. Ao estourar o prazo, a troca HTTP
+     * subjacente é cancelada. Com o circuit breaker aberto, falha imediatamente sem tocar na rede
+     * e sem gastar ficha do limitador.
+     */
+    <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                                BunnyPriority priority) {
+        // Não ocupa a fila do limitador com chamadas que o breaker vai recusar
+        if (circuitBreaker.isRejecting()) {
+            return CompletableFuture.failedFuture(new BunnyCircuitOpenException());
+        }
+        return rateLimiter.acquire(priority).thenCompose(granted -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                // O breaker abriu (ou esgotou as chamadas de teste) durante a espera: a ficha volta para a fila
+                rateLimiter.release();
+                return CompletableFuture.failedFuture(new BunnyCircuitOpenException());
+            }
+            return send(request, handler, true);
+        });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                                        boolean guarded) {
+        long start = System.nanoTime();
+        // Só há trace quando a chamada parte da thread da requisição (ex.: uploads do painel)
+        Trace trace = tracer.current();
+        BunnyHttpEvent event = beginEvent();
+        stats.onStart();
+        CompletableFuture<HttpResponse<T>> exchange = httpClient.sendAsync(request, handler);
+        CompletableFuture<HttpResponse<T>> bounded = exchange.copy().orTimeout(totalTimeoutMs, TimeUnit.MILLISECONDS);
+        bounded.whenComplete((response, error) -> {
+            stats.onComplete(start, response, error);
+            record(request, guarded ? "api" : "cdn", start, response, error);
+            commitEvent(event, request, guarded ? "api" : "cdn", response, error);
+            if (trace != null) {
+                trace.record(Tracer.LAYER_BUNNY, request.method() + " " + request.uri().getPath(), start, System.nanoTime());
+            }
+            if (!guarded) {
+                // Chamadas à CDN não refletem a saúde da API e não alimentam o breaker
+            } else if (isFailure(response, error)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            if (error instanceof TimeoutException) {
+                exchange.cancel(true);
+            }
+        });
+        return bounded;
+    }
+
+    private void record(HttpRequest request, String target, long startNanos, HttpResponse<?> response, Throwable error) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        String method = request.method();
+        String outcome = outcome(response, error);
+        requestTimers.computeIfAbsent(method + ' ' + target + ' ' + outcome, key -> Timer.builder("bunny.client.requests")
+                        .tag("method", method)
+                        .tag("target", target)
+                        .tag("outcome", outcome)
+                        .register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Evento JFR da chamada, ou null sem gravação ativa (nada é alocado)
+     */
+    private static BunnyHttpEvent beginEvent() {
+        if (!BunnyHttpEvent.enabled()) {
+            return null;
+        }
+        BunnyHttpEvent event = new BunnyHttpEvent();
+        event.begin();
+        return event;
+    }
+
+    private static void commitEvent(BunnyHttpEvent event, HttpRequest request, String target,
+                                    HttpResponse<?> response, Throwable error) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.method();
+            event.path = request.uri().getPath();
+            event.target = target;
+            event.status = response != null ? response.statusCode() : 0;
+            event.outcome = outcome(response, error);
+            event.commit();
+        }
+    }
+
+    private static String outcome(HttpResponse<?> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return cause instanceof TimeoutException || cause instanceof HttpTimeoutException
+                    ? "TIMEOUT" : "IO_ERROR";
+        }
+        int status = response.statusCode();
+        if (status == 429) {
+            return "THROTTLED";
+        }
+        return status >= 500 ? "SERVER_ERROR" : status >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+    }
+
+    /**
+     * Só indisponibilidade da Bunny conta para o breaker: falha de rede, timeout, 5xx e 429.
+     * Respostas 4xx (ex.: 404 de vídeo inexistente) são respostas válidas.
+     */
+    private static boolean isFailure(HttpResponse<?> response, Throwable error) {
+        if (error != null) {
+            return true;
+        }
+        int status = response.statusCode();
+        return status >= 500 || status == 429;
+    }
+
+    <T> T readJson(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new BunnyApiException("Resposta inválida da Bunny", e);
+        }
+    }
+
+    static void requireSuccess(HttpResponse<?> response, String operation) {
+        if (response.statusCode() / 100 != 2) {
+            throw new BunnyApiException(response.statusCode(),
+                    operation + " falhou com status " + response.statusCode());
+        }
+    }
+
+    /**
+     * Aguarda o resultado de uma chamada assíncrona, desembrulhando a causa original
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new BunnyApiException("Falha na chamada à Bunny: " + cause, cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        uploadExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.holyplay.infrastructure.bunny;
+
+/**
+ * Filas de prioridade das chamadas à API da Bunny, da mais para a menos prioritária.
+ * O tempo máximo de espera por uma vaga no limitador é configurado por fila.
+ */
+public enum BunnyPriority {
+    /** Operações do painel administrativo (criar vídeo, uploads) */
+    ADMIN,
+    /** Leituras disparadas por visitantes (metadados da home e do catálogo) */
+    PUBLIC,
+    /** Sincronização do espelho, webhooks e demais tarefas de fundo */
+    BACKGROUND
+}
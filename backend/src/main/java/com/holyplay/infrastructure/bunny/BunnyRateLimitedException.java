@@ -0,0 +1,13 @@
+package com.holyplay.infrastructure.bunny;
+
+/**
+ * Chamada descartada porque não conseguiu vaga no limitador de taxa da Bunny dentro do prazo da fila.
+ */
+public class BunnyRateLimitedException extends BunnyApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BunnyRateLimitedException(BunnyPriority priority) {
+        super(0, "Limite de chamadas à Bunny atingido; prazo da fila " + priority.name().toLowerCase() + " esgotado");
+    }
+}
@@ -0,0 +1,275 @@
+package com.holyplay.infrastructure.bunny;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitador de taxa (token bucket) das chamadas à API da Bunny, com filas de prioridade.
+ * Sem fichas disponíveis, a chamada espera na fila da sua prioridade até o prazo da fila;
+ * as fichas liberadas atendem primeiro o painel administrativo, depois visitantes, depois tarefas de fundo.
+ * Uma reserva de fichas fica sempre disponível apenas para o painel administrativo.
+ */
+@Component
+public class BunnyRateLimiter implements DisposableBean, MeterBinder {
+
+    private static final long MIN_DRAIN_DELAY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final double adminReserve;
+    private final Map<BunnyPriority, Long> maxWaitNanos = new EnumMap<>(BunnyPriority.class);
+    private final Map<BunnyPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(BunnyPriority.class);
+    private final Map<BunnyPriority, long[]> counters = new EnumMap<>(BunnyPriority.class);
+    private final ScheduledExecutorService scheduler;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private boolean drainScheduled;
+
+    public BunnyRateLimiter(
+            @Value("${bunny.rate.per-second:20}") double permitsPerSecond,
+            @Value("${bunny.rate.burst:40}") int burst,
+            @Value("${bunny.rate.admin-reserve:5}") int adminReserve,
+            @Value("${bunny.rate.max-wait-ms.admin:10000}") long adminMaxWaitMs,
+            @Value("${bunny.rate.max-wait-ms.public:1000}") long publicMaxWaitMs,
+            @Value("${bunny.rate.max-wait-ms.background:60000}") long backgroundMaxWaitMs
+    ) {
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.adminReserve = Math.min(adminReserve, burst - 1);
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+        maxWaitNanos.put(BunnyPriority.ADMIN, TimeUnit.MILLISECONDS.toNanos(adminMaxWaitMs));
+        maxWaitNanos.put(BunnyPriority.PUBLIC, TimeUnit.MILLISECONDS.toNanos(publicMaxWaitMs));
+        maxWaitNanos.put(BunnyPriority.BACKGROUND, TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMs));
+        for (BunnyPriority priority : BunnyPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            // granted, queued, expired
+            counters.put(priority, new long[3]);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bunny-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reserva uma ficha. O futuro completa quando a chamada pode seguir, ou falha com
+     * {@link BunnyRateLimitedException} se o prazo da fila acabar antes.
+     * As dependências do futuro rodam na thread do limitador; mantenha-as leves (ex.: só disparar a requisição).
+     */
+    public CompletableFuture<Void> acquire(BunnyPriority priority) {
+        synchronized (this) {
+            refill(System.nanoTime());
+            // Sem fila à frente da mesma prioridade ou de prioridade maior, tenta pegar a ficha na hora
+            if (!hasWaitersAtOrAbove(priority) && tryTake(priority)) {
+                counters.get(priority)[0]++;
+                return CompletableFuture.completedFuture(null);
+            }
+            Waiter waiter = new Waiter(System.nanoTime() + maxWaitNanos.get(priority));
+            queues.get(priority).addLast(waiter);
+            counters.get(priority)[1]++;
+            scheduleDrain(0L);
+            return waiter.future;
+        }
+    }
+
+    /**
+     * Devolve uma ficha concedida que não chegou a ser usada (ex.: chamada recusada pelo circuit breaker
+     * depois da concessão), para não desperdiçar a vaga de quem está na fila
+     */
+    public void release() {
+        synchronized (this) {
+            refill(System.nanoTime());
+            tokens = Math.min(capacity, tokens + 1.0);
+            if (queues.values().stream().anyMatch(queue -> !queue.isEmpty())) {
+                scheduleDrain(0L);
+            }
+        }
+    }
+
+    private void drain() {
+        synchronized (this) {
+            drainScheduled = false;
+            long now = System.nanoTime();
+            refill(now);
+
+            for (BunnyPriority priority : BunnyPriority.values()) {
+                ArrayDeque<Waiter> queue = queues.get(priority);
+                Iterator<Waiter> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    Waiter waiter = iterator.next();
+                    if (waiter.future.isDone()) {
+                        // Cancelado por quem esperava
+                        iterator.remove();
+                    } else if (now - waiter.deadlineNanos >= 0) {
+                        iterator.remove();
+                        counters.get(priority)[2]++;
+                        waiter.expire(priority);
+                    }
+                }
+            }
+
+            // Atende em ordem de prioridade enquanto houver fichas
+            BunnyPriority head = null;
+            for (BunnyPriority priority : BunnyPriority.values()) {
+                ArrayDeque<Waiter> queue = queues.get(priority);
+                while (!queue.isEmpty() && tryTake(priority)) {
+                    counters.get(priority)[0]++;
+                    scheduler.execute(queue.pollFirst()::grant);
+                }
+                if (!queue.isEmpty()) {
+                    head = priority;
+                    break;
+                }
+            }
+
+            long nextDeadline = Long.MAX_VALUE;
+            boolean waiting = false;
+            for (ArrayDeque<Waiter> queue : queues.values()) {
+                for (Waiter waiter : queue) {
+                    waiting = true;
+                    nextDeadline = Math.min(nextDeadline, waiter.deadlineNanos - now);
+                }
+            }
+            if (waiting) {
+                // Até a fila da frente conseguir uma ficha (acima da reserva, se não for admin) ou o prazo
+                // mais próximo, o que vier antes; nunca zero, senão o drain giraria segurando o monitor
+                long untilToken = Long.MAX_VALUE;
+                if (head != null) {
+                    double missing = floorOf(head) + 1.0 - tokens;
+                    untilToken = Math.max(MIN_DRAIN_DELAY_NANOS, (long) Math.ceil(missing / tokensPerNano));
+                }
+                scheduleDrain(Math.max(MIN_DRAIN_DELAY_NANOS, Math.min(untilToken, nextDeadline)));
+            }
+        }
+    }
+
+    private boolean hasWaitersAtOrAbove(BunnyPriority priority) {
+        for (BunnyPriority other : BunnyPriority.values()) {
+            if (!queues.get(other).isEmpty()) {
+                return true;
+            }
+            if (other == priority) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fichas que precisam sobrar após a retirada: zero para o admin, a reserva para as demais filas
+     */
+    private double floorOf(BunnyPriority priority) {
+        return priority == BunnyPriority.ADMIN ? 0.0 : adminReserve;
+    }
+
+    private boolean tryTake(BunnyPriority priority) {
+        if (tokens - 1.0 >= floorOf(priority)) {
+            tokens -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+
+    private void scheduleDrain(long delayNanos) {
+        if (!drainScheduled) {
+            drainScheduled = true;
+            scheduler.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Fichas disponíveis e, por fila, chamadas aguardando, concedidas e expiradas
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bunny.ratelimit.tokens", this, BunnyRateLimiter::availableTokens).register(registry);
+        for (BunnyPriority priority : BunnyPriority.values()) {
+            String lane = priority.name().toLowerCase();
+            Gauge.builder("bunny.ratelimit.waiting", this, limiter -> limiter.counter(priority, -1))
+                    .tag("lane", lane)
+                    .register(registry);
+            FunctionCounter.builder("bunny.ratelimit.granted", this, limiter -> limiter.counter(priority, 0))
+                    .tag("lane", lane)
+                    .register(registry);
+            FunctionCounter.builder("bunny.ratelimit.expired", this, limiter -> limiter.counter(priority, 2))
+                    .tag("lane", lane)
+                    .register(registry);
+        }
+    }
+
+    private synchronized double availableTokens() {
+        refill(System.nanoTime());
+        return Math.floor(tokens);
+    }
+
+    /**
+     * Contador da fila (0 concedidas, 1 enfileiradas, 2 expiradas) ou, com -1, quantas aguardam agora
+     */
+    private synchronized double counter(BunnyPriority priority, int index) {
+        return index < 0 ? queues.get(priority).size() : counters.get(priority)[index];
+    }
+
+    /**
+     * Fichas disponíveis e contadores por fila (concedidas, enfileiradas, expiradas, aguardando)
+     */
+    public synchronized Map<String, Object> toMap() {
+        refill(System.nanoTime());
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("availableTokens", Math.floor(tokens));
+        for (BunnyPriority priority : BunnyPriority.values()) {
+            long[] count = counters.get(priority);
+            Map<String, Object> lane = new LinkedHashMap<>();
+            lane.put("granted", count[0]);
+            lane.put("queued", count[1]);
+            lane.put("expired", count[2]);
+            lane.put("waiting", queues.get(priority).size());
+            map.put(priority.name().toLowerCase(), lane);
+        }
+        return map;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final long deadlineNanos;
+
+        Waiter(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        void grant() {
+            future.complete(null);
+        }
+
+        void expire(BunnyPriority priority) {
+            future.completeExceptionally(new BunnyRateLimitedException(priority));
+        }
+    }
+}
@@ -1,85 +1,332 @@
 package com.holyplay.infrastructure.bunny;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.holyplay.infrastructure.tracing.Trace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.holyplay.infrastructure.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.Collections;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
-public class BunnyStreamService {
+public class BunnyStreamService implements MeterBinder {
 
-    private final RestTemplate restTemplate;
-    private final String apiKey;
+    private final BunnyHttpClient bunnyHttpClient;
+    private final VideoCatalogJdbcRepository catalogRepository;
+    private final boolean catalogReadThrough;
+    private final AtomicBoolean catalogReady = new AtomicBoolean();
     private final String libraryId;
     private final String cdnHost;
+    // Cache assíncrono: buscas simultâneas pelo mesmo vídeo compartilham o mesmo futuro em andamento
+    private final AsyncLoadingCache<String, Optional<BunnyVideo>> videoCache;
+    // Último metadado obtido com sucesso por vídeo, sem expiração; servido quando a Bunny falha
+    private final Cache<String, BunnyVideo> lastKnownGood;
+    private final Tracer tracer;
 
     public BunnyStreamService(
-            @Value("${bunny.api.key:}") String apiKey,
-            @Value("${bunny.library.id:}") String libraryId,
-            @Value("${bunny.cdn.host:}") String cdnHost
+            BunnyHttpClient bunnyHttpClient,
+            VideoCatalogJdbcRepository catalogRepository,
+            Tracer tracer,
+            @Qualifier("bunnyLookupExecutor") ExecutorService bunnyLookupExecutor,
+            @Value("${bunny.catalog.read-through:false}") boolean catalogReadThrough,
+            @Value("${bunny.cdn.host:}") String cdnHost,
+            @Value("${bunny.cache.max-size:5000}") long cacheMaxSize,
+            @Value("${bunny.cache.ttl-seconds:600}") long cacheTtlSeconds,
+            @Value("${bunny.cache.refresh-after-seconds:300}") long cacheRefreshAfterSeconds,
+            @Value("${bunny.cache.negative-ttl-seconds:60}") long cacheNegativeTtlSeconds,
+            @Value("${bunny.fallback.max-size:10000}") long fallbackMaxSize
     ) {
-        this.restTemplate = new RestTemplate();
-        this.apiKey = apiKey;
-        this.libraryId = libraryId;
-        this.cdnHost = cdnHost;
+        this.bunnyHttpClient = bunnyHttpClient;
+        this.catalogRepository = catalogRepository;
+        this.tracer = tracer;
+        this.catalogReadThrough = catalogReadThrough;
+        this.libraryId = bunnyHttpClient.getLibraryId();
+        this.cdnHost = cdnHost.trim();
+        this.videoCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new VideoExpiry(
+                        Duration.ofSeconds(cacheTtlSeconds),
+                        Duration.ofSeconds(cacheNegativeTtlSeconds)))
+                // Entradas acessadas depois deste tempo são recarregadas em segundo plano (refresh-ahead);
+                // o Caffeine dispara no máximo um refresh por chave, evitando estouro de chamadas em chaves quentes
+                .refreshAfterWrite(Duration.ofSeconds(cacheRefreshAfterSeconds))
+                .executor(bunnyLookupExecutor)
+                .recordStats()
+                .buildAsync((AsyncCacheLoader<String, Optional<BunnyVideo>>) this::loadVideo);
+        this.lastKnownGood = Caffeine.newBuilder()
+                .maximumSize(fallbackMaxSize)
+                .recordStats()
+                .build();
     }
 
     /**
-     * Busca informações de um vídeo específico na Bunny Stream API
+     * Taxa de acerto do cache de metadados e do último metadado conhecido
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, videoCache.synchronous(), "bunny.videos");
+        CaffeineCacheMetrics.monitor(registry, lastKnownGood, "bunny.videos.last-known-good");
+    }
+
+    /**
+     * Busca informações de um vídeo específico.
+     * Lê do espelho local (video_catalog) e só consulta a Bunny Stream API enquanto o espelho
+     * ainda não foi sincronizado. Resultados (inclusive 404) ficam em cache. Quando a busca
+     * falha (ou o circuit breaker está aberto), serve o último metadado conhecido do vídeo;
+     * dados mock só são usados se o vídeo nunca foi carregado.
      */
     public Optional<BunnyVideo> getVideoById(String videoId) {
-        if (apiKey == null || apiKey.isEmpty() || libraryId == null || libraryId.isEmpty()) {
+        return getVideoByIdAsync(videoId).join();
+    }
+
+    /**
+     * Versão assíncrona de {@link #getVideoById}. Chamadas simultâneas para o mesmo vídeo
+     * aguardam uma única busca. O futuro retornado é exclusivo do chamador: cancelá-lo
+     * não afeta a busca compartilhada. Nunca completa com erro.
+     */
+    public CompletableFuture<Optional<BunnyVideo>> getVideoByIdAsync(String videoId) {
+        if (!bunnyHttpClient.isConfigured()) {
             System.out.println("⚠️ Bunny Stream API não configurada - usando dados mock");
-            return Optional.of(createMockVideo(videoId));
+            return CompletableFuture.completedFuture(Optional.of(createMockVideo(videoId)));
         }
 
-        try {
-            String url = "https://video.bunnycdn.com/library/" + libraryId + "/videos/" + videoId;
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("AccessKey", apiKey);
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<BunnyVideo> response = restTemplate.exchange(
-                url, 
-                HttpMethod.GET, 
-                entity, 
-                BunnyVideo.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                BunnyVideo video = response.getBody();
-                // Adicionar URL da thumbnail se não estiver presente
-                if (video.thumbnailFileName != null && !video.thumbnailFileName.isEmpty()) {
-                    video.thumbnailUrl = generateThumbnailUrl(videoId, video.thumbnailFileName);
-                }
-                return Optional.of(video);
+        Trace trace = tracer.current();
+        long start = trace != null ? System.nanoTime() : 0L;
+        return videoCache.get(videoId).handle((video, error) -> {
+            if (trace != null) {
+                // Tempo que a requisição esperou pelo vídeo (cache, espelho ou Bunny)
+                trace.record(Tracer.LAYER_BUNNY, "getVideoById", start, System.nanoTime());
             }
-            
-        } catch (HttpClientErrorException e) {
-            System.err.println("❌ Erro ao buscar vídeo " + videoId + " na Bunny Stream: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("❌ Erro inesperado ao buscar vídeo " + videoId + ": " + e.getMessage());
+            if (error == null) {
+                // Vazio = 404 recente (cache negativo): não consulta a Bunny novamente até expirar
+                return video.isPresent() ? video : Optional.of(createMockVideo(videoId));
+            }
+            return fallbackVideo(videoId, error);
+        });
+    }
+
+    /**
+     * Último metadado conhecido do vídeo, ou dados mock se ele nunca foi carregado
+     */
+    private Optional<BunnyVideo> fallbackVideo(String videoId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof BunnyCircuitOpenException || cause instanceof BunnyRateLimitedException) {
+            // Breaker aberto ou fila do limitador esgotada: falha rápida, sem log por chamada
+        } else if (cause instanceof BunnyApiException) {
+            System.err.println("❌ Erro ao buscar vídeo " + videoId + " na Bunny Stream: " + cause.getMessage());
+        } else {
+            System.err.println("❌ Erro inesperado ao buscar vídeo " + videoId + ": " + cause.getMessage());
+        }
+
+        BunnyVideo known = lastKnownGood.getIfPresent(videoId);
+        if (known != null) {
+            return Optional.of(known);
         }
-        
         // Retorna dados mock em caso de erro
         return Optional.of(createMockVideo(videoId));
     }
 
+    /**
+     * Remove um vídeo do cache, forçando nova busca no próximo acesso
+     */
+    public void evictVideo(String videoId) {
+        videoCache.synchronous().invalidate(videoId);
+    }
+
+    /**
+     * Contadores do cache de vídeos (acertos, falhas, remoções)
+     */
+    public CacheStats getCacheStats() {
+        return videoCache.synchronous().stats();
+    }
+
+    public long getCacheSize() {
+        return videoCache.synchronous().estimatedSize();
+    }
+
+    public long getFallbackSize() {
+        return lastKnownGood.estimatedSize();
+    }
+
+    /**
+     * Estado e transições do circuit breaker da Bunny
+     */
+    public BunnyCircuitBreaker getCircuitBreaker() {
+        return bunnyHttpClient.getCircuitBreaker();
+    }
+
+    /**
+     * Fichas disponíveis e filas do limitador de taxa da Bunny
+     */
+    public BunnyRateLimiter getRateLimiter() {
+        return bunnyHttpClient.getRateLimiter();
+    }
+
+    /**
+     * Contadores de uso e latência do cliente HTTP da Bunny
+     */
+    public BunnyClientStats getClientStats() {
+        return bunnyHttpClient.getStats();
+    }
+
+    /**
+     * Espelho atualizado: invalida os vídeos alterados e libera o caminho de leitura sem a Bunny
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE) // antes de quem reconstrói dados a partir do cache
+    public void onCatalogChanged(VideoCatalogChangedEvent event) {
+        videoCache.synchronous().invalidateAll(event.getVideoIds());
+        if (event.isFullSync()) {
+            catalogReady.set(true);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectCatalog() {
+        try {
+            if (catalogRepository.hasEntries()) {
+                catalogReady.set(true);
+            }
+        } catch (DataAccessException e) {
+            System.err.println("⚠️ Espelho video_catalog indisponível, lendo da Bunny: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Carrega um vídeo para o cache: primeiro do espelho local (no executor do cache),
+     * depois da Bunny se permitido, sem bloquear thread enquanto espera a rede.
+     * Cada resultado definitivo atualiza (ou remove) o último metadado conhecido.
+     */
+    private CompletableFuture<Optional<BunnyVideo>> loadVideo(String videoId, Executor executor) {
+        CompletableFuture<Optional<BunnyVideo>> mirror;
+        try {
+            mirror = CompletableFuture.supplyAsync(() -> readMirror(videoId), executor);
+        } catch (RejectedExecutionException e) {
+            // Executor saturado: falha só esta carga, sem guardar no cache
+            return CompletableFuture.failedFuture(e);
+        }
+        return mirror
+                .thenCompose(mirrored -> mirrored != null
+                        ? CompletableFuture.completedFuture(mirrored)
+                        : fetchVideo(videoId))
+                .thenApply(video -> {
+                    if (video.isPresent()) {
+                        lastKnownGood.put(videoId, video.get());
+                    } else {
+                        lastKnownGood.invalidate(videoId);
+                    }
+                    return video;
+                });
+    }
+
+    /**
+     * Resultado do espelho local, ou null quando é preciso consultar a Bunny
+     */
+    private Optional<BunnyVideo> readMirror(String videoId) {
+        try {
+            Optional<BunnyVideo> mirrored = catalogRepository.findByVideoId(videoId);
+            if (mirrored.isPresent() || (catalogReady.get() && !catalogReadThrough)) {
+                return mirrored.map(found -> withThumbnailUrl(videoId, found));
+            }
+        } catch (DataAccessException e) {
+            System.err.println("⚠️ Falha ao ler video_catalog, consultando a Bunny: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Consulta a Bunny. Retorna vazio para 404 (entrada negativa no cache);
+     * demais erros falham o futuro para não serem guardados.
+     */
+    private CompletableFuture<Optional<BunnyVideo>> fetchVideo(String videoId) {
+        return bunnyHttpClient.getVideoAsync(videoId, BunnyPriority.PUBLIC)
+                .thenApply(video -> video.map(found -> withThumbnailUrl(videoId, found)));
+    }
+
+    /**
+     * URL pública da thumbnail de um vídeo, ou null quando ele não tem thumbnail
+     */
+    public String getThumbnailUrl(String videoId, String thumbnailFileName) {
+        if (thumbnailFileName == null || thumbnailFileName.isEmpty()) {
+            return null;
+        }
+        return generateThumbnailUrl(videoId, thumbnailFileName);
+    }
+
+    /**
+     * Adicionar URL da thumbnail se não estiver presente
+     */
+    private BunnyVideo withThumbnailUrl(String videoId, BunnyVideo video) {
+        if (video.thumbnailVerified) {
+            // URL verificada pelo ThumbnailResolver; nula quando o vídeo não tem thumbnail
+            return video;
+        }
+        if (video.thumbnailFileName != null && !video.thumbnailFileName.isEmpty()) {
+            video.thumbnailUrl = generateThumbnailUrl(videoId, video.thumbnailFileName);
+        }
+        return video;
+    }
+
+    /**
+     * Tempo de vida por entrada: vídeos encontrados usam o TTL normal, 404 usa um TTL curto
+     */
+    private static final class VideoExpiry implements Expiry<String, Optional<BunnyVideo>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        VideoExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<BunnyVideo> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<BunnyVideo> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<BunnyVideo> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
     /**
      * Gera URL da thumbnail baseado no videoId e nome do arquivo
      */
     private String generateThumbnailUrl(String videoId, String thumbnailFileName) {
         if (cdnHost != null && !cdnHost.isEmpty()) {
-            return "https://" + cdnHost + "/" + videoId + "/" + thumbnailFileName;
+            // Host com esquema explícito (ex.: simulador local em http) é usado como está
+            String base = cdnHost.startsWith("http://") || cdnHost.startsWith("https://") ? cdnHost : "https://" + cdnHost;
+            return base + "/" + videoId + "/" + thumbnailFileName;
         }
         // URL padrão se CDN host não estiver configurado
         return "https://vz-" + libraryId + ".b-cdn.net/" + videoId + "/" + thumbnailFileName;
@@ -91,7 +338,7 @@ public class BunnyStreamService {
     private BunnyVideo createMockVideo(String videoId) {
         BunnyVideo mockVideo = new BunnyVideo();
         mockVideo.videoId = videoId;
-        mockVideo.title = "Vídeo " + videoId.substring(0, 8);
+        mockVideo.title = "Vídeo " + videoId.substring(0, Math.min(8, videoId.length()));
         mockVideo.description = "Descrição do vídeo";
         mockVideo.length = 300; // 5 minutos
         mockVideo.views = 1000L;
@@ -120,6 +367,14 @@ public class BunnyStreamService {
         
         // Campo calculado
         public String thumbnailUrl;
+
+        // Preenchidos a partir do espelho quando a thumbnail já foi verificada
+        @JsonIgnore
+        public boolean thumbnailVerified;
+        @JsonIgnore
+        public Integer thumbnailWidth;
+        @JsonIgnore
+        public Integer thumbnailHeight;
         
         @JsonProperty("dateUploaded")
         public String dateUploaded;
@@ -151,6 +406,9 @@ public class BunnyStreamService {
         
         public String getThumbnailUrl() { return thumbnailUrl; }
         public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+        public Integer getThumbnailWidth() { return thumbnailWidth; }
+        public Integer getThumbnailHeight() { return thumbnailHeight; }
         
         public String getDateUploaded() { return dateUploaded; }
         public void setDateUploaded(String dateUploaded) { this.dateUploaded = dateUploaded; }
@@ -0,0 +1,472 @@
+package com.holyplay.infrastructure.bunny;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cache em disco das thumbnails dos vídeos, em larguras fixas (320/480/640).
+ * A imagem de origem é baixada da CDN da Bunny uma única vez por versão da thumbnail,
+ * redimensionada e gravada em arquivos; o espaço total em disco é limitado (LRU).
+ */
+@Component
+public class BunnyThumbnailCache implements MeterBinder {
+
+    public static final int[] WIDTHS = {320, 480, 640};
+
+    private static final Pattern VIDEO_ID = Pattern.compile("[A-Za-z0-9-]{1,128}");
+    private static final String DEFAULT_FILE_NAME = "thumbnail.jpg";
+    private static final String SOURCE_FILE = "source.properties";
+    private static final String GENERATION_SEPARATOR = "-";
+
+    private final BunnyStreamService bunnyStreamService;
+    private final BunnyHttpClient bunnyHttpClient;
+    private final Path root;
+    private final float jpegQuality;
+    private final AsyncCache<String, CachedThumbnail> cache;
+    // Vídeos sem thumbnail na CDN: evita repetir o download a cada requisição
+    private final Cache<String, Boolean> misses;
+    private final Map<String, String> currentKeyByVideo = new ConcurrentHashMap<>();
+
+    public BunnyThumbnailCache(
+            BunnyStreamService bunnyStreamService,
+            BunnyHttpClient bunnyHttpClient,
+            @Qualifier("thumbnailExecutor") ExecutorService thumbnailExecutor,
+            @Value("${thumbnails.cache-dir:${java.io.tmpdir}/holyplay-thumbnails}") String cacheDir,
+            @Value("${thumbnails.cache.max-mb:512}") long maxMegabytes,
+            @Value("${thumbnails.miss-ttl-seconds:300}") long missTtlSeconds,
+            @Value("${thumbnails.jpeg-quality:0.85}") float jpegQuality
+    ) throws IOException {
+        this.bunnyStreamService = bunnyStreamService;
+        this.bunnyHttpClient = bunnyHttpClient;
+        this.root = Paths.get(cacheDir).toAbsolutePath();
+        this.jpegQuality = jpegQuality;
+        Files.createDirectories(root);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMegabytes * 1024 * 1024)
+                .weigher((String key, CachedThumbnail value) -> (int) Math.min(Integer.MAX_VALUE, value.bytes))
+                // Cada gravação usa um diretório próprio: apagar o antigo (mesmo atrasado, no executor)
+                // nunca atinge as variantes de uma recarga da mesma chave
+                .removalListener((String key, CachedThumbnail value, RemovalCause cause) -> {
+                    if (value != null) {
+                        deleteQuietly(value.dir);
+                    }
+                })
+                .executor(thumbnailExecutor)
+                .recordStats()
+                .buildAsync();
+        this.misses = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(missTtlSeconds))
+                .recordStats()
+                .build();
+
+        loadExisting();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "thumbnails");
+        CaffeineCacheMetrics.monitor(registry, misses, "thumbnails.misses");
+    }
+
+    public static boolean isValidVideoId(String videoId) {
+        return videoId != null && VIDEO_ID.matcher(videoId).matches();
+    }
+
+    /**
+     * Menor largura disponível que atende à pedida (ou a maior, se nenhuma atender)
+     */
+    public static int snapWidth(int requested) {
+        for (int width : WIDTHS) {
+            if (requested <= width) {
+                return width;
+            }
+        }
+        return WIDTHS[WIDTHS.length - 1];
+    }
+
+    /**
+     * Versão da thumbnail (valor de ?v=) para o arquivo informado; muda quando uma thumbnail
+     * personalizada é definida. Sem arquivo, vale a thumbnail padrão.
+     */
+    public static String versionFor(String thumbnailFileName) {
+        return versionOf(thumbnailFileName == null || thumbnailFileName.isBlank() ? DEFAULT_FILE_NAME : thumbnailFileName);
+    }
+
+    /**
+     * Arquivo da variante pedida, baixando e redimensionando a thumbnail na primeira vez.
+     * Vazio quando o vídeo não tem thumbnail disponível na CDN.
+     */
+    public Optional<Variant> get(String videoId, int width) {
+        if (!isValidVideoId(videoId) || !bunnyHttpClient.isConfigured()) {
+            return Optional.empty();
+        }
+        String fileName = thumbnailFileName(videoId);
+        String version = versionOf(fileName);
+        if (misses.getIfPresent(videoId + "/" + version) != null) {
+            return Optional.empty();
+        }
+        CachedThumbnail thumbnail = load(videoId, version, fileName);
+        if (thumbnail == null) {
+            return Optional.empty();
+        }
+        Path file = thumbnail.dir.resolve(snapWidth(width) + ".jpg");
+        return Optional.of(new Variant(file, version, snapWidth(width)));
+    }
+
+    /**
+     * Verifica qual origem da thumbnail existe na CDN (populando o cache em disco) e retorna
+     * a URL e as dimensões originais. Ignora o cache de ausências: usado pelo resolvedor em segundo plano.
+     */
+    public Optional<Resolved> resolve(String videoId, String thumbnailFileName) {
+        if (!isValidVideoId(videoId)) {
+            return Optional.empty();
+        }
+        String fileName = thumbnailFileName == null || thumbnailFileName.isBlank() ? DEFAULT_FILE_NAME : thumbnailFileName;
+        String version = versionOf(fileName);
+        misses.invalidate(videoId + "/" + version);
+        CachedThumbnail thumbnail = load(videoId, version, fileName);
+        if (thumbnail == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Resolved(thumbnail.sourceUrl, thumbnail.width, thumbnail.height));
+    }
+
+    /**
+     * Carrega a versão pedida do cache, baixando-a uma única vez mesmo com chamadas simultâneas
+     */
+    private CachedThumbnail load(String videoId, String version, String fileName) {
+        String key = videoId + "/" + version;
+        CachedThumbnail thumbnail = BunnyHttpClient.join(cache.get(key, (k, executor) -> {
+            try {
+                return CompletableFuture.supplyAsync(() -> build(videoId, version, fileName), executor);
+            } catch (RejectedExecutionException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
+        if (thumbnail == null) {
+            misses.put(key, Boolean.TRUE);
+            return null;
+        }
+
+        String previous = currentKeyByVideo.put(videoId, key);
+        if (previous != null && !previous.equals(key)) {
+            // Thumbnail trocada: a versão antiga não será mais pedida
+            cache.synchronous().invalidate(previous);
+        }
+        return thumbnail;
+    }
+
+    public long getEntryCount() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private String thumbnailFileName(String videoId) {
+        BunnyStreamService.BunnyVideo video = bunnyStreamService.getVideoById(videoId).orElse(null);
+        if (video == null || video.thumbnailFileName == null || video.thumbnailFileName.isBlank()) {
+            return DEFAULT_FILE_NAME;
+        }
+        return video.thumbnailFileName;
+    }
+
+    /**
+     * Baixa a melhor origem disponível e grava as variantes. Null quando não há thumbnail.
+     */
+    private CachedThumbnail build(String videoId, String version, String fileName) {
+        Set<String> sources = new LinkedHashSet<>();
+        sources.add(bunnyStreamService.getThumbnailUrl(videoId, fileName));
+        sources.add(bunnyStreamService.getThumbnailUrl(videoId, DEFAULT_FILE_NAME));
+
+        for (String source : sources) {
+            Optional<byte[]> bytes = BunnyHttpClient.join(bunnyHttpClient.fetchCdnAsync(URI.create(source)));
+            if (bytes.isEmpty()) {
+                continue;
+            }
+            BufferedImage original = decode(bytes.get());
+            if (original == null) {
+                System.err.println("⚠️ Thumbnail em formato não suportado: " + source);
+                continue;
+            }
+            return writeVariants(videoId, version, source, original);
+        }
+        return null;
+    }
+
+    private CachedThumbnail writeVariants(String videoId, String version, String source, BufferedImage original) {
+        Path dir = null;
+        try {
+            Path videoDir = Files.createDirectories(root.resolve(videoId));
+            // <versão>-<geração>: nome único por gravação
+            dir = Files.createTempDirectory(videoDir, version + GENERATION_SEPARATOR);
+            long bytes = 0;
+            for (int width : WIDTHS) {
+                Path target = dir.resolve(width + ".jpg");
+                Path temp = Files.createTempFile(dir, width + "-", ".tmp");
+                writeJpeg(resize(original, width), temp);
+                // Move atômico: leitores nunca veem um arquivo pela metade
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                bytes += Files.size(target);
+            }
+            CachedThumbnail thumbnail = new CachedThumbnail(dir, bytes, source, original.getWidth(), original.getHeight());
+            writeSource(thumbnail);
+            return thumbnail;
+        } catch (IOException e) {
+            if (dir != null) {
+                deleteQuietly(dir);
+            }
+            throw new UncheckedIOException("Falha ao gravar thumbnails de " + videoId, e);
+        }
+    }
+
+    /**
+     * Origem e dimensões ficam ao lado das variantes para sobreviver a reinícios
+     */
+    private static void writeSource(CachedThumbnail thumbnail) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("url", thumbnail.sourceUrl);
+        properties.setProperty("width", String.valueOf(thumbnail.width));
+        properties.setProperty("height", String.valueOf(thumbnail.height));
+        Path temp = Files.createTempFile(thumbnail.dir, "source-", ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temp, thumbnail.dir.resolve(SOURCE_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static CachedThumbnail readSource(Path dir, long bytes) {
+        Path file = dir.resolve(SOURCE_FILE);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            return new CachedThumbnail(dir, bytes, properties.getProperty("url"),
+                    Integer.parseInt(properties.getProperty("width")),
+                    Integer.parseInt(properties.getProperty("height")));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static BufferedImage decode(byte[] bytes) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Redimensiona mantendo a proporção; imagens menores que a largura pedida não são ampliadas
+     */
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Reaproveita as thumbnails já gravadas em disco (ex.: após reinício), das mais antigas para as mais novas
+     */
+    private void loadExisting() throws IOException {
+        List<Path> dirs = new ArrayList<>();
+        try (Stream<Path> videos = Files.list(root)) {
+            for (Path videoDir : (Iterable<Path>) videos::iterator) {
+                if (!Files.isDirectory(videoDir)) {
+                    continue;
+                }
+                try (Stream<Path> versions = Files.list(videoDir)) {
+                    versions.filter(Files::isDirectory).forEach(dirs::add);
+                }
+            }
+        }
+        dirs.sort(Comparator.comparingLong(BunnyThumbnailCache::lastModified));
+
+        Map<String, CachedThumbnail> restored = new LinkedHashMap<>();
+        for (Path dir : dirs) {
+            long bytes = 0;
+            boolean complete = true;
+            for (int width : WIDTHS) {
+                Path file = dir.resolve(width + ".jpg");
+                if (!Files.isRegularFile(file)) {
+                    complete = false;
+                    break;
+                }
+                bytes += Files.size(file);
+            }
+            String name = dir.getFileName().toString();
+            int separator = name.indexOf(GENERATION_SEPARATOR);
+            String key = dir.getParent().getFileName() + "/" + (separator < 0 ? name : name.substring(0, separator));
+            CachedThumbnail thumbnail = complete ? readSource(dir, bytes) : null;
+            if (thumbnail != null) {
+                // Mais de uma geração da mesma versão: fica a mais recente
+                CachedThumbnail older = restored.put(key, thumbnail);
+                if (older != null) {
+                    deleteQuietly(older.dir);
+                }
+            } else {
+                deleteQuietly(dir);
+            }
+        }
+        restored.forEach((key, value) -> cache.synchronous().put(key, value));
+        if (!restored.isEmpty()) {
+            System.out.println("🖼️ " + restored.size() + " thumbnails reaproveitadas do cache em disco (" + root + ")");
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // Arquivo em uso ou já removido; será sobrescrito na próxima gravação
+                }
+            });
+        } catch (IOException ignored) {
+            // Diretório já removido
+        }
+    }
+
+    private static String versionOf(String fileName) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(fileName.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static final class CachedThumbnail {
+        private final Path dir;
+        private final long bytes;
+        private final String sourceUrl;
+        private final int width;
+        private final int height;
+
+        CachedThumbnail(Path dir, long bytes, String sourceUrl, int width, int height) {
+            this.dir = dir;
+            this.bytes = bytes;
+            this.sourceUrl = sourceUrl;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Origem verificada da thumbnail na CDN e suas dimensões originais
+     */
+    public static final class Resolved {
+        private final String url;
+        private final int width;
+        private final int height;
+
+        Resolved(String url, int width, int height) {
+            this.url = url;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getUrl() { return url; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+    }
+
+    /**
+     * Arquivo de uma variante pronta para ser servida
+     */
+    public static final class Variant {
+        private final Path file;
+        private final String version;
+        private final int width;
+
+        Variant(Path file, String version, int width) {
+            this.file = file;
+            this.version = version;
+            this.width = width;
+        }
+
+        public Path getFile() { return file; }
+        public String getVersion() { return version; }
+        public int getWidth() { return width; }
+    }
+}
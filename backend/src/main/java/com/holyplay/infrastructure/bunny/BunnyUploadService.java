@@ -0,0 +1,177 @@
+package com.holyplay.infrastructure.bunny;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Proxy de uploads retomáveis para a Bunny Stream.
+ * O navegador envia o arquivo em pedaços (protocolo TUS) para o backend, que repassa cada pedaço
+ * em streaming para o upload TUS correspondente na Bunny. Nada é gravado em disco nem acumulado
+ * em memória, e a chave da API nunca sai do servidor.
+ */
+@Service
+public class BunnyUploadService {
+
+    private final BunnyHttpClient bunnyHttpClient;
+    private final Duration sessionTtl;
+    private final Duration chunkTimeout;
+    private final Cache<String, UploadSession> sessions;
+
+    public BunnyUploadService(
+            BunnyHttpClient bunnyHttpClient,
+            @Value("${bunny.upload.session-ttl-hours:24}") long sessionTtlHours,
+            @Value("${bunny.upload.chunk-timeout-ms:300000}") long chunkTimeoutMs
+    ) {
+        this.bunnyHttpClient = bunnyHttpClient;
+        this.sessionTtl = Duration.ofHours(sessionTtlHours);
+        this.chunkTimeout = Duration.ofMillis(chunkTimeoutMs);
+        // Sessões abandonadas expiram junto com a assinatura do upload na Bunny
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(sessionTtl)
+                .build();
+    }
+
+    /**
+     * Cria o vídeo na Bunny e abre o upload retomável correspondente
+     */
+    public UploadSession start(String title, String fileName, long length) {
+        if (!bunnyHttpClient.isConfigured()) {
+            throw new IllegalStateException("Bunny Stream API não configurada");
+        }
+        BunnyStreamService.BunnyVideo video = BunnyHttpClient.join(bunnyHttpClient.createVideoAsync(title));
+        long expiresAt = Instant.now().plus(sessionTtl).getEpochSecond();
+        URI uploadUri = BunnyHttpClient.join(
+                bunnyHttpClient.createTusUploadAsync(video.videoId, length, expiresAt, fileName != null ? fileName : title));
+
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), video.videoId, uploadUri, expiresAt, length);
+        sessions.put(session.getUploadId(), session);
+        System.out.println("⬆️ Upload iniciado: vídeo " + video.videoId + " (" + length + " bytes)");
+        return session;
+    }
+
+    public Optional<UploadSession> find(String uploadId) {
+        return Optional.ofNullable(sessions.getIfPresent(uploadId));
+    }
+
+    /**
+     * Confirma com a Bunny quanto do arquivo já chegou (usado ao retomar após uma falha)
+     */
+    public UploadSession syncOffset(UploadSession session) {
+        if (!session.transferring.get() && !session.isComplete()) {
+            long offset = BunnyHttpClient.join(
+                    bunnyHttpClient.getTusOffsetAsync(session.uploadUri, session.videoId, session.expiresAt));
+            session.offset.set(offset);
+        }
+        return session;
+    }
+
+    /**
+     * Repassa um pedaço do arquivo para a Bunny e retorna o novo offset.
+     *
+     * @throws IllegalStateException se o offset não confere ou outro pedaço já está sendo enviado
+     */
+    public long appendChunk(UploadSession session, long offset, long chunkLength, InputStream body) {
+        if (offset != session.offset.get()) {
+            throw new IllegalStateException("Offset " + offset + " não confere com " + session.offset.get());
+        }
+        if (offset + chunkLength > session.length) {
+            throw new IllegalStateException("Pedaço ultrapassa o tamanho declarado do arquivo");
+        }
+        if (!session.transferring.compareAndSet(false, true)) {
+            throw new IllegalStateException("Outro pedaço deste upload já está em andamento");
+        }
+        try {
+            session.inFlight.set(0);
+            InputStream counted = new CountingInputStream(body, session.inFlight);
+            long newOffset = BunnyHttpClient.join(bunnyHttpClient.patchTusUploadAsync(
+                    session.uploadUri, session.videoId, session.expiresAt, offset, chunkLength, counted, chunkTimeout));
+            session.offset.set(newOffset);
+            if (session.isComplete()) {
+                System.out.println("✅ Upload concluído: vídeo " + session.videoId);
+            }
+            return newOffset;
+        } finally {
+            session.inFlight.set(0);
+            session.transferring.set(false);
+        }
+    }
+
+    /**
+     * Estado de um upload em andamento. O offset é o total confirmado pela Bunny;
+     * inFlight conta os bytes do pedaço atual já repassados.
+     */
+    public static class UploadSession {
+        private final String uploadId;
+        private final String videoId;
+        private final URI uploadUri;
+        private final long expiresAt;
+        private final long length;
+        private final AtomicLong offset = new AtomicLong();
+        private final AtomicLong inFlight = new AtomicLong();
+        private final AtomicBoolean transferring = new AtomicBoolean();
+
+        UploadSession(String uploadId, String videoId, URI uploadUri, long expiresAt, long length) {
+            this.uploadId = uploadId;
+            this.videoId = videoId;
+            this.uploadUri = uploadUri;
+            this.expiresAt = expiresAt;
+            this.length = length;
+        }
+
+        public String getUploadId() { return uploadId; }
+        public String getVideoId() { return videoId; }
+        public long getLength() { return length; }
+        public long getOffset() { return offset.get(); }
+        public long getInFlightBytes() { return inFlight.get(); }
+        public boolean isTransferring() { return transferring.get(); }
+        public boolean isComplete() { return offset.get() >= length; }
+    }
+
+    /**
+     * Conta os bytes lidos do corpo da requisição, para o progresso do lado do servidor
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final AtomicLong counter;
+
+        CountingInputStream(InputStream in, AtomicLong counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) {
+                counter.addAndGet(n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // O stream pertence ao container; quem fecha é o Tomcat ao fim da requisição
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.holyplay.infrastructure.bunny;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Página da listagem de vídeos da biblioteca na API da Bunny Stream
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BunnyVideoPage {
+    public long totalItems;
+    public int currentPage;
+    public int itemsPerPage;
+    public List<BunnyStreamService.BunnyVideo> items = List.of();
+
+    public long getTotalItems() { return totalItems; }
+    public int getCurrentPage() { return currentPage; }
+    public int getItemsPerPage() { return itemsPerPage; }
+    public List<BunnyStreamService.BunnyVideo> getItems() { return items; }
+}
@@ -0,0 +1,212 @@
+package com.holyplay.infrastructure.bunny;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aplica os eventos de webhook da Bunny ao espelho local.
+ * Eventos são agrupados por vídeo durante uma janela curta e processados em lote
+ * por uma única thread, para absorver rajadas (ex.: um lote inteiro terminando de codificar).
+ * A Bunny não manda id de entrega, então uma reentrega é reconhecida por repetir o último status
+ * já aplicado ao vídeo; uma volta legítima ao mesmo status (ex.: recodificação) passa por outro antes.
+ * Como a Bunny já recebeu 200, falhas ao aplicar voltam para a fila com espera crescente.
+ */
+@Component
+public class BunnyWebhookProcessor implements DisposableBean {
+
+    // Status da Bunny: 0 fila, 1 processando, 2 codificando, 3 finalizado, 4 resolução pronta,
+    // 5 falhou, 6 upload iniciado, 7 upload finalizado, 8 upload falhou
+    private static final Set<Integer> PROGRESS_STATUSES = Set.of(0, 1, 2, 6, 7);
+    // Depois disso o vídeo fica para a próxima sincronização completa
+    private static final int MAX_RETRIES = 6;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final BunnyHttpClient bunnyHttpClient;
+    private final VideoCatalogJdbcRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long debounceMs;
+    private final ScheduledExecutorService worker;
+
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    // Último status aplicado por vídeo
+    private final Cache<String, Integer> lastApplied;
+    private final Map<String, Integer> retries = new ConcurrentHashMap<>();
+
+    public BunnyWebhookProcessor(
+            BunnyHttpClient bunnyHttpClient,
+            VideoCatalogJdbcRepository repository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${bunny.webhook.debounce-ms:500}") long debounceMs,
+            @Value("${bunny.webhook.dedupe-seconds:600}") long dedupeSeconds
+    ) {
+        this.bunnyHttpClient = bunnyHttpClient;
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.debounceMs = debounceMs;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bunny-webhook");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lastApplied = Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(Duration.ofSeconds(dedupeSeconds))
+                .build();
+    }
+
+    /**
+     * Enfileira um evento. Retorna falso quando é reentrega do último status já aplicado ao vídeo.
+     */
+    public boolean accept(String videoId, int status) {
+        Integer last = lastApplied.getIfPresent(videoId);
+        // Com outro status do vídeo ainda na fila, o mesmo valor já não é reentrega (ex.: 3 → 2 → 3)
+        if (last != null && last == status && !pending.containsKey(videoId)) {
+            return false;
+        }
+        // Só o último status de cada vídeo interessa dentro da janela
+        pending.put(videoId, status);
+        scheduleDrain();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            worker.schedule(this::drain, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        Map<String, Integer> batch = new HashMap<>();
+        for (String videoId : new ArrayList<>(pending.keySet())) {
+            Integer status = pending.remove(videoId);
+            if (status != null) {
+                batch.put(videoId, status);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            Applied result = apply(batch);
+            result.applied().forEach(videoId -> {
+                lastApplied.put(videoId, batch.get(videoId));
+                retries.remove(videoId);
+            });
+            if (!result.changed().isEmpty()) {
+                eventPublisher.publishEvent(new VideoCatalogChangedEvent(result.changed(), false));
+            }
+            if (!result.failed().isEmpty()) {
+                Map<String, Integer> failed = new HashMap<>();
+                result.failed().forEach(videoId -> failed.put(videoId, batch.get(videoId)));
+                retryLater(failed);
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Erro ao aplicar webhooks da Bunny (" + batch.size() + " vídeos): " + e.getMessage());
+            // Reaplicar é idempotente: o lote inteiro volta para a fila
+            retryLater(batch);
+        }
+    }
+
+    /**
+     * Devolve os eventos à fila após uma espera que dobra a cada falha do vídeo.
+     * Um status mais novo que chegue nesse meio tempo prevalece sobre o devolvido.
+     */
+    private void retryLater(Map<String, Integer> failed) {
+        Map<String, Integer> requeue = new HashMap<>();
+        long delayMs = debounceMs;
+        for (Map.Entry<String, Integer> entry : failed.entrySet()) {
+            int attempt = retries.merge(entry.getKey(), 1, Integer::sum);
+            if (attempt > MAX_RETRIES) {
+                retries.remove(entry.getKey());
+                System.err.println("❌ Webhook do vídeo " + entry.getKey() + " descartado após " + MAX_RETRIES
+                        + " tentativas; a próxima sincronização completa corrige o espelho");
+                continue;
+            }
+            requeue.put(entry.getKey(), entry.getValue());
+            delayMs = Math.max(delayMs, Math.min(debounceMs << attempt, MAX_RETRY_DELAY_MS));
+        }
+        if (requeue.isEmpty()) {
+            return;
+        }
+        System.out.println("🔁 " + requeue.size() + " webhooks da Bunny voltam para a fila em " + delayMs + " ms");
+        worker.schedule(() -> {
+            requeue.forEach(pending::putIfAbsent);
+            scheduleDrain();
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private Applied apply(Map<String, Integer> batch) {
+        Set<String> failed = new HashSet<>();
+        Set<String> applied = new HashSet<>();
+        Set<String> changed = new HashSet<>();
+        Map<String, CompletableFuture<Optional<BunnyStreamService.BunnyVideo>>> fetches = new HashMap<>();
+
+        batch.forEach((videoId, status) -> {
+            // Progresso de codificação: basta atualizar o status de um vídeo já espelhado
+            if (PROGRESS_STATUSES.contains(status) && repository.updateStatus(videoId, status)) {
+                applied.add(videoId);
+                changed.add(videoId);
+            } else {
+                fetches.put(videoId, bunnyHttpClient.getVideoAsync(videoId, BunnyPriority.BACKGROUND));
+            }
+        });
+
+        List<VideoCatalogJdbcRepository.CatalogRow> rows = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        fetches.forEach((videoId, fetch) -> {
+            try {
+                Optional<BunnyStreamService.BunnyVideo> video = BunnyHttpClient.join(fetch);
+                if (video.isPresent()) {
+                    rows.add(VideoCatalogJdbcRepository.CatalogRow.from(video.get()));
+                } else {
+                    removed.add(videoId);
+                }
+            } catch (BunnyApiException e) {
+                System.err.println("❌ Webhook: falha ao buscar vídeo " + videoId + " na Bunny: " + e.getMessage());
+                failed.add(videoId);
+            }
+        });
+
+        repository.upsertAll(rows);
+        rows.forEach(row -> changed.add(row.getVideo().videoId));
+        if (!removed.isEmpty()) {
+            changed.addAll(repository.tombstone(removed));
+        }
+        rows.forEach(row -> applied.add(row.getVideo().videoId));
+        applied.addAll(removed);
+        return new Applied(applied, changed, failed);
+    }
+
+    /**
+     * applied: vídeos cujo evento foi gravado no espelho; changed: os que de fato mudaram;
+     * failed: os que não puderam ser buscados na Bunny e serão tentados de novo
+     */
+    private record Applied(Set<String> applied, Set<String> changed, Set<String> failed) {}
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,142 @@
+package com.holyplay.infrastructure.bunny;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verifica em segundo plano qual thumbnail de cada vídeo realmente existe na CDN e grava no
+ * espelho a URL verificada e as dimensões. Roda quando o espelho muda (upload, fim da codificação,
+ * troca de thumbnail), de modo que as respostas da API já carregam uma URL que funciona.
+ */
+@Component
+public class ThumbnailResolver implements DisposableBean {
+
+    // Bunny: 5 e 8 são falhas de codificação/upload; não há thumbnail a procurar
+    private static final Set<Integer> FAILED_STATUSES = Set.of(5, 8);
+
+    private final VideoCatalogJdbcRepository repository;
+    private final BunnyThumbnailCache thumbnailCache;
+    private final BunnyHttpClient bunnyHttpClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final boolean enabled;
+    private final ExecutorService worker;
+    private final AtomicBoolean runPending = new AtomicBoolean();
+
+    public ThumbnailResolver(
+            VideoCatalogJdbcRepository repository,
+            BunnyThumbnailCache thumbnailCache,
+            BunnyHttpClient bunnyHttpClient,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${thumbnails.resolver.enabled:true}") boolean enabled,
+            @Value("${thumbnails.resolver.batch-size:100}") int batchSize
+    ) {
+        this.repository = repository;
+        this.thumbnailCache = thumbnailCache;
+        this.bunnyHttpClient = bunnyHttpClient;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-resolver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestRun();
+    }
+
+    @EventListener
+    public void onCatalogChanged(VideoCatalogChangedEvent event) {
+        requestRun();
+    }
+
+    /**
+     * Agenda uma passada. Pedidos feitos enquanto outra passada está na fila são agrupados.
+     * Cada passada consome os pendentes em lotes até esvaziar e só então avisa os snapshots,
+     * para que um backfill grande não reconstrua a biblioteca a cada lote.
+     */
+    public void requestRun() {
+        if (enabled && bunnyHttpClient.isConfigured() && runPending.compareAndSet(false, true)) {
+            worker.execute(this::run);
+        }
+    }
+
+    private void run() {
+        runPending.set(false);
+        Set<String> resolved = new HashSet<>();
+        // Falhas continuam pendentes no espelho; nesta passada não são tentadas de novo
+        Set<String> failed = new HashSet<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            List<BunnyStreamService.BunnyVideo> pending;
+            try {
+                pending = repository.findPendingThumbnails(batchSize);
+            } catch (DataAccessException e) {
+                System.err.println("⚠️ Resolvedor de thumbnails: espelho indisponível: " + e.getMessage());
+                break;
+            }
+
+            int attempted = 0;
+            for (BunnyStreamService.BunnyVideo video : pending) {
+                if (failed.contains(video.videoId)) {
+                    continue;
+                }
+                attempted++;
+                try {
+                    resolve(video);
+                    resolved.add(video.videoId);
+                } catch (RuntimeException e) {
+                    // Fica pendente; a próxima alteração do espelho (ou sincronização) tenta de novo
+                    failed.add(video.videoId);
+                    System.err.println("⚠️ Falha ao verificar thumbnail de " + video.videoId + ": " + e.getMessage());
+                }
+            }
+            // Lote incompleto: não há mais pendentes; lote só de falhas: nada novo a verificar
+            if (pending.size() < batchSize || attempted == 0) {
+                break;
+            }
+        }
+
+        if (!resolved.isEmpty()) {
+            System.out.println("🖼️ Thumbnails verificadas: " + resolved.size()
+                    + (failed.isEmpty() ? "" : " (" + failed.size() + " falhas)"));
+            // Invalida caches e snapshots que mostram estes vídeos, uma vez por passada
+            eventPublisher.publishEvent(new VideoCatalogChangedEvent(resolved, false));
+        }
+    }
+
+    private void resolve(BunnyStreamService.BunnyVideo video) {
+        Optional<BunnyThumbnailCache.Resolved> thumbnail = FAILED_STATUSES.contains(video.status)
+                ? Optional.empty()
+                : thumbnailCache.resolve(video.videoId, video.thumbnailFileName);
+        repository.updateThumbnail(
+                video.videoId,
+                video.thumbnailFileName,
+                video.status,
+                thumbnail.map(BunnyThumbnailCache.Resolved::getUrl).orElse(null),
+                thumbnail.map(BunnyThumbnailCache.Resolved::getWidth).orElse(null),
+                thumbnail.map(BunnyThumbnailCache.Resolved::getHeight).orElse(null)
+        );
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+    }
+}
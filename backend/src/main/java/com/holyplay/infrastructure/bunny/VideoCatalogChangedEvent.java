@@ -0,0 +1,44 @@
+package com.holyplay.infrastructure.bunny;
+
+import java.util.Set;
+
+/**
+ * Publicado quando o espelho local da biblioteca da Bunny muda.
+ */
+public class VideoCatalogChangedEvent {
+
+    private final Set<String> videoIds;
+    private final boolean fullSync;
+    private final boolean viewsChanged;
+
+    public VideoCatalogChangedEvent(Set<String> videoIds, boolean fullSync) {
+        this(videoIds, fullSync, false);
+    }
+
+    public VideoCatalogChangedEvent(Set<String> videoIds, boolean fullSync, boolean viewsChanged) {
+        this.videoIds = videoIds;
+        this.fullSync = fullSync;
+        this.viewsChanged = viewsChanged;
+    }
+
+    /**
+     * Vídeos inseridos, alterados ou removidos
+     */
+    public Set<String> getVideoIds() {
+        return videoIds;
+    }
+
+    /**
+     * Verdadeiro quando o evento encerra uma passada completa pela biblioteca
+     */
+    public boolean isFullSync() {
+        return fullSync;
+    }
+
+    /**
+     * Verdadeiro quando a passada atualizou visualizações, que não entram em getVideoIds()
+     */
+    public boolean isViewsChanged() {
+        return viewsChanged;
+    }
+}
@@ -0,0 +1,280 @@
+package com.holyplay.infrastructure.bunny;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Acesso à tabela video_catalog, espelho local da biblioteca da Bunny.
+ */
+@Repository
+public class VideoCatalogJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VideoCatalogJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private static final RowMapper<BunnyStreamService.BunnyVideo> VIDEO_MAPPER = new RowMapper<>() {
+        @Override
+        public BunnyStreamService.BunnyVideo mapRow(ResultSet rs, int rowNum) throws SQLException {
+            BunnyStreamService.BunnyVideo video = new BunnyStreamService.BunnyVideo();
+            video.videoId = rs.getString("video_id");
+            video.title = rs.getString("title");
+            video.description = rs.getString("description");
+            video.length = rs.getObject("length_seconds", Integer.class);
+            video.views = rs.getObject("views", Long.class);
+            video.status = rs.getObject("status", Integer.class);
+            video.thumbnailFileName = rs.getString("thumbnail_file_name");
+            video.category = rs.getString("category");
+            Timestamp uploaded = rs.getTimestamp("date_uploaded");
+            video.dateUploaded = uploaded != null ? uploaded.toLocalDateTime().toString() : null;
+            // Thumbnail já verificada pelo ThumbnailResolver: a URL (ou a ausência dela) é confiável
+            if (rs.getTimestamp("thumbnail_checked_at") != null) {
+                video.thumbnailVerified = true;
+                video.thumbnailUrl = rs.getString("thumbnail_url");
+                video.thumbnailWidth = rs.getObject("thumbnail_width", Integer.class);
+                video.thumbnailHeight = rs.getObject("thumbnail_height", Integer.class);
+            }
+            return video;
+        }
+    };
+
+    private static final String VIDEO_COLUMNS = "video_id, title, description, length_seconds, views, status, " +
+            "thumbnail_file_name, category, date_uploaded, thumbnail_url, thumbnail_width, thumbnail_height, thumbnail_checked_at";
+
+    /**
+     * Vídeo ativo no espelho (vídeos removidos na Bunny não são retornados)
+     */
+    public Optional<BunnyStreamService.BunnyVideo> findByVideoId(String videoId) {
+        String sql = "SELECT " + VIDEO_COLUMNS + " FROM public.video_catalog WHERE video_id = ? AND deleted_at IS NULL";
+        var list = jdbcTemplate.query(sql, VIDEO_MAPPER, videoId);
+        return list.stream().findFirst();
+    }
+
+    /**
+     * Todos os vídeos ativos do espelho, dos mais recentes para os mais antigos
+     */
+    public List<BunnyStreamService.BunnyVideo> findAllActive() {
+        String sql = "SELECT " + VIDEO_COLUMNS + " FROM public.video_catalog WHERE deleted_at IS NULL ORDER BY date_uploaded DESC, video_id";
+        return jdbcTemplate.query(sql, VIDEO_MAPPER);
+    }
+
+    public boolean hasEntries() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM public.video_catalog)", Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Hash do conteúdo de cada vídeo ativo, usado para detectar o que mudou na Bunny
+     */
+    public Map<String, String> findActiveHashes() {
+        Map<String, String> hashes = new HashMap<>();
+        jdbcTemplate.query("SELECT video_id, content_hash FROM public.video_catalog WHERE deleted_at IS NULL",
+                rs -> { hashes.put(rs.getString("video_id"), rs.getString("content_hash")); });
+        return hashes;
+    }
+
+    /**
+     * Insere ou atualiza os vídeos informados. Linhas com o mesmo hash e não removidas não são reescritas.
+     */
+    public void upsertAll(List<CatalogRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO public.video_catalog (video_id, title, description, length_seconds, views, status, " +
+                "thumbnail_file_name, category, date_uploaded, content_hash, deleted_at, synced_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NULL, NOW(), NOW()) " +
+                "ON CONFLICT (video_id) DO UPDATE SET title = EXCLUDED.title, description = EXCLUDED.description, " +
+                "length_seconds = EXCLUDED.length_seconds, views = EXCLUDED.views, status = EXCLUDED.status, " +
+                "thumbnail_file_name = EXCLUDED.thumbnail_file_name, category = EXCLUDED.category, " +
+                "date_uploaded = EXCLUDED.date_uploaded, content_hash = EXCLUDED.content_hash, " +
+                "deleted_at = NULL, synced_at = NOW(), updated_at = NOW() " +
+                "WHERE video_catalog.content_hash IS DISTINCT FROM EXCLUDED.content_hash " +
+                "OR video_catalog.deleted_at IS NOT NULL";
+
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            BunnyStreamService.BunnyVideo video = row.getVideo();
+            ps.setString(1, video.videoId);
+            ps.setString(2, video.title);
+            ps.setString(3, video.description);
+            ps.setObject(4, video.length, Types.INTEGER);
+            ps.setObject(5, video.views, Types.BIGINT);
+            ps.setObject(6, video.status, Types.INTEGER);
+            ps.setString(7, video.thumbnailFileName);
+            ps.setString(8, video.category);
+            LocalDateTime uploaded = row.getDateUploaded();
+            ps.setTimestamp(9, uploaded != null ? Timestamp.valueOf(uploaded) : null);
+            ps.setString(10, row.getContentHash());
+        });
+    }
+
+    /**
+     * Atualiza só as visualizações, que ficam fora do hash: mudam a todo momento e não devem
+     * marcar o vídeo como alterado. Retorna quantos vídeos de fato mudaram.
+     */
+    public int updateViews(List<CatalogRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE public.video_catalog SET views = ? " +
+                "WHERE video_id = ? AND deleted_at IS NULL AND views IS DISTINCT FROM ?";
+        int[][] counts = jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.getVideo().views, Types.BIGINT);
+            ps.setString(2, row.getVideo().videoId);
+            ps.setObject(3, row.getVideo().views, Types.BIGINT);
+        });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated += Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Atualiza apenas o status de um vídeo já espelhado. Retorna falso se o vídeo não está no espelho.
+     */
+    public boolean updateStatus(String videoId, int status) {
+        String sql = "UPDATE public.video_catalog SET status = ?, updated_at = NOW() " +
+                "WHERE video_id = ? AND deleted_at IS NULL AND status IS DISTINCT FROM ?";
+        int updated = jdbcTemplate.update(sql, status, videoId, status);
+        if (updated > 0) {
+            return true;
+        }
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM public.video_catalog WHERE video_id = ? AND deleted_at IS NULL)",
+                Boolean.class, videoId);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Vídeos cuja thumbnail precisa ser (re)verificada: nunca verificados, com arquivo de thumbnail
+     * trocado, ou sem thumbnail encontrada enquanto ainda codificavam e que agora terminaram
+     */
+    public List<BunnyStreamService.BunnyVideo> findPendingThumbnails(int limit) {
+        String sql = "SELECT video_id, thumbnail_file_name, status FROM public.video_catalog " +
+                "WHERE deleted_at IS NULL AND (" +
+                "thumbnail_checked_at IS NULL " +
+                "OR thumbnail_source_file IS DISTINCT FROM thumbnail_file_name " +
+                "OR (thumbnail_url IS NULL AND status IN (3, 4) " +
+                "AND thumbnail_checked_status IS DISTINCT FROM 3 AND thumbnail_checked_status IS DISTINCT FROM 4)" +
+                ") ORDER BY date_uploaded DESC NULLS LAST LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            BunnyStreamService.BunnyVideo video = new BunnyStreamService.BunnyVideo();
+            video.videoId = rs.getString("video_id");
+            video.thumbnailFileName = rs.getString("thumbnail_file_name");
+            video.status = rs.getObject("status", Integer.class);
+            return video;
+        }, limit);
+    }
+
+    /**
+     * Grava o resultado da verificação da thumbnail (url nula = nenhuma origem respondeu)
+     */
+    public void updateThumbnail(String videoId, String sourceFile, Integer status,
+                                String url, Integer width, Integer height) {
+        String sql = "UPDATE public.video_catalog SET thumbnail_url = ?, thumbnail_width = ?, thumbnail_height = ?, " +
+                "thumbnail_source_file = ?, thumbnail_checked_status = ?, thumbnail_checked_at = NOW(), updated_at = NOW() " +
+                "WHERE video_id = ?";
+        jdbcTemplate.update(sql, url, width, height, sourceFile, status, videoId);
+    }
+
+    /**
+     * Marca os vídeos informados como removidos na Bunny
+     */
+    public List<String> tombstone(Collection<String> videoIds) {
+        String sql = "UPDATE public.video_catalog SET deleted_at = NOW(), updated_at = NOW() " +
+                "WHERE deleted_at IS NULL AND video_id = ANY(?) RETURNING video_id";
+        return jdbcTemplate.query(
+                con -> {
+                    var ps = con.prepareStatement(sql);
+                    ps.setArray(1, con.createArrayOf("varchar", videoIds.toArray()));
+                    return ps;
+                },
+                (rs, rowNum) -> rs.getString("video_id")
+        );
+    }
+
+    /**
+     * Vídeo vindo da Bunny pronto para gravação no espelho
+     */
+    public static class CatalogRow {
+        private final BunnyStreamService.BunnyVideo video;
+        private final LocalDateTime dateUploaded;
+        private final String contentHash;
+
+        public CatalogRow(BunnyStreamService.BunnyVideo video, LocalDateTime dateUploaded, String contentHash) {
+            this.video = video;
+            this.dateUploaded = dateUploaded;
+            this.contentHash = contentHash;
+        }
+
+        public static CatalogRow from(BunnyStreamService.BunnyVideo video) {
+            return new CatalogRow(video, parseDate(video.dateUploaded), contentHash(video));
+        }
+
+        public BunnyStreamService.BunnyVideo getVideo() { return video; }
+        public LocalDateTime getDateUploaded() { return dateUploaded; }
+        public String getContentHash() { return contentHash; }
+
+        /**
+         * Hash do que caracteriza o vídeo; visualizações ficam de fora (ver updateViews)
+         */
+        static String contentHash(BunnyStreamService.BunnyVideo video) {
+            String content = String.join("\u001f",
+                    Objects.toString(video.title, ""),
+                    Objects.toString(video.description, ""),
+                    Objects.toString(video.length, ""),
+                    Objects.toString(video.status, ""),
+                    Objects.toString(video.thumbnailFileName, ""),
+                    Objects.toString(video.category, ""),
+                    Objects.toString(video.dateUploaded, ""));
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * A Bunny envia datas ISO-8601, normalmente sem fuso (UTC)
+         */
+        static LocalDateTime parseDate(String value) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException e) {
+                try {
+                    return OffsetDateTime.parse(value).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+                } catch (DateTimeParseException ignored) {
+                    return null;
+                }
+            }
+        }
+    }
+}
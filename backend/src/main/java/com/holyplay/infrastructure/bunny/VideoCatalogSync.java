@@ -0,0 +1,151 @@
+package com.holyplay.infrastructure.bunny;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sincroniza a biblioteca da Bunny com a tabela video_catalog.
+ * Percorre a listagem paginada, grava apenas vídeos novos ou alterados (comparando hash
+ * do conteúdo) e marca como removidos os que sumiram da Bunny.
+ * A listagem é paginada por offset e sem snapshot: uma remoção no meio da passada adianta os
+ * vídeos seguintes e um deles pode não aparecer. Por isso cada ausência é confirmada por GET.
+ */
+@Component
+public class VideoCatalogSync {
+
+    private final BunnyHttpClient bunnyHttpClient;
+    private final VideoCatalogJdbcRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int pageSize;
+
+    public VideoCatalogSync(
+            BunnyHttpClient bunnyHttpClient,
+            VideoCatalogJdbcRepository repository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${bunny.catalog.sync.enabled:true}") boolean enabled,
+            @Value("${bunny.catalog.sync.page-size:100}") int pageSize
+    ) {
+        this.bunnyHttpClient = bunnyHttpClient;
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(
+            initialDelayString = "${bunny.catalog.sync.initial-delay-ms:15000}",
+            fixedDelayString = "${bunny.catalog.sync.interval-ms:300000}"
+    )
+    public void scheduledSync() {
+        if (!enabled || !bunnyHttpClient.isConfigured()) {
+            return;
+        }
+        try {
+            sync();
+        } catch (Exception e) {
+            System.err.println("❌ Erro na sincronização do catálogo da Bunny: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Executa uma passada completa pela biblioteca
+     */
+    public synchronized void sync() {
+        long start = System.currentTimeMillis();
+        Map<String, String> knownHashes = repository.findActiveHashes();
+        Set<String> seen = new HashSet<>();
+        Set<String> changed = new HashSet<>();
+        int viewsUpdated = 0;
+
+        int page = 1;
+        while (true) {
+            BunnyVideoPage result = BunnyHttpClient.join(bunnyHttpClient.listVideosAsync(page, pageSize));
+            List<VideoCatalogJdbcRepository.CatalogRow> rows = new ArrayList<>();
+            List<VideoCatalogJdbcRepository.CatalogRow> unchanged = new ArrayList<>();
+            for (BunnyStreamService.BunnyVideo video : result.getItems()) {
+                if (video.videoId == null || !seen.add(video.videoId)) {
+                    continue;
+                }
+                VideoCatalogJdbcRepository.CatalogRow row = VideoCatalogJdbcRepository.CatalogRow.from(video);
+                if (!row.getContentHash().equals(knownHashes.get(video.videoId))) {
+                    rows.add(row);
+                    changed.add(video.videoId);
+                } else {
+                    unchanged.add(row);
+                }
+            }
+            repository.upsertAll(rows);
+            viewsUpdated += repository.updateViews(unchanged);
+
+            if (result.getItems().size() < pageSize || (long) page * pageSize >= result.getTotalItems()) {
+                break;
+            }
+            page++;
+        }
+
+        Set<String> missing = new HashSet<>(knownHashes.keySet());
+        missing.removeAll(seen);
+        if (seen.isEmpty() && !knownHashes.isEmpty()) {
+            // Listagem vazia com espelho preenchido: provavelmente falha na Bunny, não remove nada
+            System.err.println("⚠️ Bunny retornou biblioteca vazia; remoções ignoradas nesta sincronização");
+        } else if (!missing.isEmpty()) {
+            changed.addAll(confirmMissing(missing, knownHashes));
+        }
+
+        eventPublisher.publishEvent(new VideoCatalogChangedEvent(changed, true, viewsUpdated > 0));
+        System.out.println("🔄 Catálogo da Bunny sincronizado: " + seen.size() + " vídeos, "
+                + changed.size() + " alterados, " + viewsUpdated + " com novas visualizações em "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Consulta um a um os vídeos que não vieram na listagem: só os que a Bunny responde com 404
+     * são marcados como removidos; os que ainda existem são gravados. Retorna os que mudaram.
+     */
+    private Set<String> confirmMissing(Set<String> missing, Map<String, String> knownHashes) {
+        Map<String, CompletableFuture<Optional<BunnyStreamService.BunnyVideo>>> fetches = new HashMap<>();
+        missing.forEach(videoId -> fetches.put(videoId, bunnyHttpClient.getVideoAsync(videoId, BunnyPriority.BACKGROUND)));
+
+        List<VideoCatalogJdbcRepository.CatalogRow> rows = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        Set<String> changed = new HashSet<>();
+        fetches.forEach((videoId, fetch) -> {
+            try {
+                Optional<BunnyStreamService.BunnyVideo> video = BunnyHttpClient.join(fetch);
+                if (video.isEmpty()) {
+                    removed.add(videoId);
+                    return;
+                }
+                VideoCatalogJdbcRepository.CatalogRow row = VideoCatalogJdbcRepository.CatalogRow.from(video.get());
+                if (!row.getContentHash().equals(knownHashes.get(videoId))) {
+                    rows.add(row);
+                    changed.add(videoId);
+                }
+            } catch (BunnyApiException e) {
+                // Na dúvida, mantém o vídeo; a próxima sincronização confere de novo
+                System.err.println("⚠️ Não foi possível confirmar a remoção do vídeo " + videoId + ": " + e.getMessage());
+            }
+        });
+
+        repository.upsertAll(rows);
+        if (!removed.isEmpty()) {
+            changed.addAll(repository.tombstone(removed));
+        }
+        if (missing.size() > removed.size()) {
+            System.out.println("🔎 " + (missing.size() - removed.size()) + " vídeos ausentes da listagem ainda existem na Bunny");
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,437 @@
+package com.holyplay.infrastructure.bunny.sim;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulador local da API da Bunny Stream (perfil bunny-sim), para testes de carga sem rede.
+ * Sobe um HttpServer do JDK na mesma JVM com um catálogo sintético gerado a partir de uma semente,
+ * latência log-normal (mediana e p99 configuráveis) e falhas injetadas (5xx, 429, timeouts).
+ * Atende listagem, busca por vídeo, criação, uploads TUS e as thumbnails da "CDN".
+ * A mesma semente gera o mesmo catálogo e a mesma sequência de latências e falhas.
+ *
+ * Parâmetros de falha podem ser trocados em execução, ex.: POST /_sim/faults?error-rate=1
+ */
+@Component
+@Profile("bunny-sim")
+public class BunnySimulator implements DisposableBean {
+
+    private static final String[] WORDS = {
+            "Louvor", "Pregação", "Estudo", "Culto", "Testemunho", "Oração", "Salmos", "Evangelho",
+            "Família", "Jovens", "Fé", "Graça", "Esperança", "Adoração", "Missões", "Discipulado"
+    };
+
+    private final ObjectMapper objectMapper;
+    private final String apiKey;
+    private final String libraryPath;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService delays;
+    private final SplittableRandom random;
+    private final byte[] thumbnail;
+
+    // Catálogo ordenado do mais recente para o mais antigo, e índice por guid
+    private final List<Map<String, Object>> catalog = new CopyOnWriteArrayList<>();
+    private final Map<String, Map<String, Object>> byGuid = new ConcurrentHashMap<>();
+    private final Map<String, long[]> tusUploads = new ConcurrentHashMap<>();
+
+    private volatile double medianMs;
+    private volatile double sigma;
+    private volatile double errorRate;
+    private volatile double throttleRate;
+    private volatile double timeoutRate;
+    private final long timeoutMs;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong injectedThrottles = new AtomicLong();
+    private final AtomicLong injectedTimeouts = new AtomicLong();
+
+    public BunnySimulator(
+            ObjectMapper objectMapper,
+            @Value("${bunny.api.key:}") String apiKey,
+            @Value("${bunny.library.id:}") String libraryId,
+            @Value("${bunny.sim.port:18090}") int port,
+            @Value("${bunny.sim.threads:16}") int threads,
+            @Value("${bunny.sim.seed:42}") long seed,
+            @Value("${bunny.sim.videos:5000}") int videos,
+            @Value("${bunny.sim.latency.median-ms:60}") double medianMs,
+            @Value("${bunny.sim.latency.p99-ms:400}") double p99Ms,
+            @Value("${bunny.sim.error-rate:0.01}") double errorRate,
+            @Value("${bunny.sim.throttle-rate:0.0}") double throttleRate,
+            @Value("${bunny.sim.timeout-rate:0.002}") double timeoutRate,
+            @Value("${bunny.sim.timeout-ms:30000}") long timeoutMs
+    ) throws IOException {
+        this.objectMapper = objectMapper;
+        this.apiKey = apiKey.trim();
+        this.libraryPath = "/library/" + libraryId.trim() + "/videos";
+        this.random = new SplittableRandom(seed);
+        this.timeoutMs = timeoutMs;
+        setLatency(medianMs, p99Ms);
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.timeoutRate = timeoutRate;
+        this.thumbnail = renderThumbnail();
+        seedCatalog(new Random(seed), videos);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.handlers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bunny-sim-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delays = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bunny-sim-delay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.setExecutor(handlers);
+        server.createContext("/", this::handle);
+        server.start();
+        System.out.println("🧪 Simulador da Bunny ouvindo em http://127.0.0.1:" + server.getAddress().getPort()
+                + " (" + catalog.size() + " vídeos, semente " + seed + ")");
+    }
+
+    private void seedCatalog(Random seeded, int videos) {
+        Instant newest = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < videos; i++) {
+            String guid = new UUID(seeded.nextLong(), seeded.nextLong()).toString();
+            Map<String, Object> video = new LinkedHashMap<>();
+            video.put("guid", guid);
+            video.put("title", WORDS[seeded.nextInt(WORDS.length)] + " " + WORDS[seeded.nextInt(WORDS.length)] + " #" + (i + 1));
+            video.put("description", "Vídeo sintético " + (i + 1) + " do simulador");
+            video.put("length", 60 + seeded.nextInt(5400));
+            // Distribuição de visualizações com cauda longa
+            video.put("views", (long) Math.exp(seeded.nextDouble() * 13));
+            // Poucos vídeos ainda codificando ou com falha
+            int roll = seeded.nextInt(100);
+            video.put("status", roll < 96 ? 4 : roll < 99 ? 2 : 5);
+            video.put("thumbnailFileName", seeded.nextInt(50) == 0 ? null : "thumbnail.jpg");
+            video.put("dateUploaded", newest.minus(i * 37L, ChronoUnit.MINUTES).toString());
+            video.put("category", null);
+            catalog.add(video);
+            byGuid.put(guid, video);
+        }
+    }
+
+    private void handle(HttpExchange exchange) {
+        requests.incrementAndGet();
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/_sim/")) {
+                respond(exchange, control(exchange, path));
+                return;
+            }
+            if (path.startsWith("/cdn/")) {
+                // CDN: só latência, sem falhas injetadas (não conta na cota da API)
+                delay(exchange, cdn(path), sampleLatencyMs());
+                return;
+            }
+            if (!apiKey.isEmpty() && !path.startsWith("/tusupload")
+                    && !apiKey.equals(exchange.getRequestHeaders().getFirst("AccessKey"))) {
+                respond(exchange, Response.status(401));
+                return;
+            }
+
+            double roll;
+            long latency;
+            synchronized (random) {
+                roll = random.nextDouble();
+                latency = sampleLatencyMs();
+            }
+            if (roll < timeoutRate) {
+                injectedTimeouts.incrementAndGet();
+                delay(exchange, Response.status(504), timeoutMs);
+            } else if (roll < timeoutRate + errorRate) {
+                injectedErrors.incrementAndGet();
+                delay(exchange, Response.status(503), latency);
+            } else if (roll < timeoutRate + errorRate + throttleRate) {
+                injectedThrottles.incrementAndGet();
+                delay(exchange, Response.status(429), latency);
+            } else {
+                delay(exchange, api(exchange, path), latency);
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Simulador da Bunny: erro ao tratar " + exchange.getRequestURI() + ": " + e.getMessage());
+            respond(exchange, Response.status(500));
+        }
+    }
+
+    private Response api(HttpExchange exchange, String path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.equals(libraryPath)) {
+            if (method.equals("GET")) {
+                return list(query(exchange.getRequestURI()));
+            }
+            if (method.equals("POST")) {
+                return create(exchange.getRequestBody());
+            }
+        } else if (path.startsWith(libraryPath + "/") && method.equals("GET")) {
+            Map<String, Object> video = byGuid.get(path.substring(libraryPath.length() + 1));
+            return video != null ? json(200, video) : Response.status(404);
+        } else if (path.startsWith("/tusupload")) {
+            return tus(exchange, path, method);
+        }
+        return Response.status(404);
+    }
+
+    private Response list(Map<String, String> query) throws IOException {
+        int page = Math.max(1, Integer.parseInt(query.getOrDefault("page", "1")));
+        int itemsPerPage = Math.max(1, Math.min(1000, Integer.parseInt(query.getOrDefault("itemsPerPage", "100"))));
+        List<Map<String, Object>> snapshot = new ArrayList<>(catalog);
+        int from = Math.min(snapshot.size(), (page - 1) * itemsPerPage);
+        int to = Math.min(snapshot.size(), from + itemsPerPage);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("totalItems", snapshot.size());
+        body.put("currentPage", page);
+        body.put("itemsPerPage", itemsPerPage);
+        body.put("items", snapshot.subList(from, to));
+        return json(200, body);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response create(InputStream body) throws IOException {
+        Map<String, Object> request = objectMapper.readValue(body, Map.class);
+        Map<String, Object> video = new LinkedHashMap<>();
+        String guid = UUID.randomUUID().toString();
+        video.put("guid", guid);
+        video.put("title", request.getOrDefault("title", "Sem título"));
+        video.put("description", null);
+        video.put("length", 0);
+        video.put("views", 0L);
+        video.put("status", 0);
+        video.put("thumbnailFileName", "thumbnail.jpg");
+        video.put("dateUploaded", Instant.now().toString());
+        video.put("category", null);
+        byGuid.put(guid, video);
+        catalog.add(0, video);
+        return json(200, video);
+    }
+
+    /**
+     * Protocolo TUS mínimo: criação, consulta de offset e envio sequencial de pedaços
+     */
+    private Response tus(HttpExchange exchange, String path, String method) throws IOException {
+        if (path.equals("/tusupload") && method.equals("POST")) {
+            String videoId = exchange.getRequestHeaders().getFirst("VideoId");
+            long length = Long.parseLong(exchange.getRequestHeaders().getFirst("Upload-Length"));
+            if (videoId == null || !byGuid.containsKey(videoId)) {
+                return Response.status(404);
+            }
+            String uploadId = UUID.randomUUID().toString();
+            tusUploads.put(uploadId, new long[] {0L, length});
+            byGuid.get(videoId).put("status", 6);
+            return Response.status(201).header("Location", "/tusupload/" + uploadId);
+        }
+
+        long[] upload = tusUploads.get(path.substring(path.lastIndexOf('/') + 1));
+        if (upload == null) {
+            return Response.status(404);
+        }
+        if (method.equals("HEAD")) {
+            return Response.status(200).header("Upload-Offset", String.valueOf(upload[0]));
+        }
+        if (method.equals("PATCH")) {
+            long offset = Long.parseLong(exchange.getRequestHeaders().getFirst("Upload-Offset"));
+            synchronized (upload) {
+                if (offset != upload[0]) {
+                    return Response.status(409);
+                }
+                upload[0] += exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                if (upload[0] >= upload[1]) {
+                    Map<String, Object> video = byGuid.get(exchange.getRequestHeaders().getFirst("VideoId"));
+                    if (video != null) {
+                        video.put("status", 4);
+                    }
+                }
+                return Response.status(204).header("Upload-Offset", String.valueOf(upload[0]));
+            }
+        }
+        return Response.status(405);
+    }
+
+    private Response cdn(String path) {
+        // /cdn/{guid}/{arquivo}
+        String[] parts = path.split("/");
+        if (parts.length == 4 && byGuid.containsKey(parts[2]) && parts[3].equals(byGuid.get(parts[2]).get("thumbnailFileName"))) {
+            return new Response(200, thumbnail).header("Content-Type", "image/jpeg");
+        }
+        return Response.status(404);
+    }
+
+    private Response control(HttpExchange exchange, String path) throws IOException {
+        if (path.equals("/_sim/faults") && exchange.getRequestMethod().equals("POST")) {
+            Map<String, String> query = query(exchange.getRequestURI());
+            errorRate = Double.parseDouble(query.getOrDefault("error-rate", String.valueOf(errorRate)));
+            throttleRate = Double.parseDouble(query.getOrDefault("throttle-rate", String.valueOf(throttleRate)));
+            timeoutRate = Double.parseDouble(query.getOrDefault("timeout-rate", String.valueOf(timeoutRate)));
+            if (query.containsKey("median-ms") || query.containsKey("p99-ms")) {
+                double median = Double.parseDouble(query.getOrDefault("median-ms", String.valueOf(medianMs)));
+                double p99 = Double.parseDouble(query.getOrDefault("p99-ms", String.valueOf(median * Math.exp(sigma * 2.326))));
+                setLatency(median, p99);
+            }
+            System.out.println("🧪 Simulador da Bunny: falhas alteradas " + query);
+        } else if (!path.equals("/_sim/stats")) {
+            return Response.status(404);
+        }
+        return json(200, toMap());
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("videos", catalog.size());
+        map.put("latencyMedianMs", medianMs);
+        map.put("latencyP99Ms", Math.round(medianMs * Math.exp(sigma * 2.326)));
+        map.put("errorRate", errorRate);
+        map.put("throttleRate", throttleRate);
+        map.put("timeoutRate", timeoutRate);
+        map.put("requests", requests.get());
+        map.put("injectedErrors", injectedErrors.get());
+        map.put("injectedThrottles", injectedThrottles.get());
+        map.put("injectedTimeouts", injectedTimeouts.get());
+        return map;
+    }
+
+    /**
+     * Log-normal: mediana = e^mu, p99 = e^(mu + 2,326·sigma)
+     */
+    private void setLatency(double medianMs, double p99Ms) {
+        this.medianMs = medianMs;
+        this.sigma = p99Ms > medianMs && medianMs > 0 ? Math.log(p99Ms / medianMs) / 2.326 : 0.0;
+    }
+
+    private long sampleLatencyMs() {
+        synchronized (random) {
+            // Box-Muller a partir do gerador com semente, para manter a sequência reproduzível
+            double gaussian = Math.sqrt(-2.0 * Math.log(1.0 - random.nextDouble()))
+                    * Math.cos(2.0 * Math.PI * random.nextDouble());
+            return Math.round(medianMs * Math.exp(sigma * gaussian));
+        }
+    }
+
+    /**
+     * Responde depois da latência simulada, sem prender uma thread do servidor durante a espera
+     */
+    private void delay(HttpExchange exchange, Response response, long delayMs) {
+        if (delayMs <= 0) {
+            respond(exchange, response);
+        } else {
+            delays.schedule(() -> handlers.execute(() -> respond(exchange, response)), delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void respond(HttpExchange exchange, Response response) {
+        try (exchange) {
+            response.headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+            boolean empty = response.body.length == 0 || exchange.getRequestMethod().equals("HEAD");
+            exchange.sendResponseHeaders(response.status, empty ? -1 : response.body.length);
+            if (!empty) {
+                exchange.getResponseBody().write(response.body);
+            }
+        } catch (IOException e) {
+            // Cliente já desistiu (ex.: timeout do lado da aplicação)
+        }
+    }
+
+    private Response json(int status, Object body) throws IOException {
+        return new Response(status, objectMapper.writeValueAsBytes(body)).header("Content-Type", "application/json");
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(pair.substring(0, eq), java.net.URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static byte[] renderThumbnail() {
+        BufferedImage image = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(0x1f2937));
+        graphics.fillRect(0, 0, 1280, 720);
+        graphics.setColor(new Color(0xf59e0b));
+        graphics.fillOval(540, 260, 200, 200);
+        graphics.dispose();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        server.stop(0);
+        delays.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    private static final class Response {
+        private final int status;
+        private final byte[] body;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response status(int status) {
+            return new Response(status, new byte[0]);
+        }
+
+        Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.holyplay.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Chamada HTTP à Bunny (API, CDN ou upload), do envio à resposta.
+ * Inicia na thread que dispara a chamada e é gravado na thread que recebe a resposta.
+ */
+@Name("com.holyplay.BunnyHttp")
+@Label("Bunny HTTP Call")
+@Category({"HolyPlay", "Bunny"})
+@Description("Chamada HTTP à Bunny Stream")
+public class BunnyHttpEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(BunnyHttpEvent.class);
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Target")
+    public String target;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Outcome")
+    public String outcome;
+
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,35 @@
+package com.holyplay.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Montagem completa da home (busca das seções, dos vídeos e das descrições)
+ */
+@Name("com.holyplay.HomePage")
+@Label("Home Page Assembly")
+@Category({"HolyPlay", "Home"})
+@Description("Montagem da página inicial a partir das seções configuradas")
+public class HomePageEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(HomePageEvent.class);
+
+    @Label("Sections")
+    public int sections;
+
+    @Label("Distinct Videos")
+    public int videos;
+
+    @Label("Degraded Videos")
+    public int degraded;
+
+    @Label("Partial")
+    public boolean partial;
+
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
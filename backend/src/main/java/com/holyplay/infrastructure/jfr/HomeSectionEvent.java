@@ -0,0 +1,25 @@
+package com.holyplay.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Montagem de uma seção da home depois que as buscas dos vídeos terminaram
+ */
+@Name("com.holyplay.HomeSection")
+@Label("Home Section Assembly")
+@Category({"HolyPlay", "Home"})
+@Description("Conversão dos vídeos de uma seção da home para a resposta")
+public class HomeSectionEvent extends jdk.jfr.Event {
+
+    @Label("Section Id")
+    public String sectionId;
+
+    @Label("Videos")
+    public int videos;
+
+    @Label("Degraded Videos")
+    public int degraded;
+}
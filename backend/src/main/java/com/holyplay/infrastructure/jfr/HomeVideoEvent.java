@@ -0,0 +1,35 @@
+package com.holyplay.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Espera pela busca de um vídeo da home (cache, espelho ou Bunny), do disparo até a conclusão.
+ * Por padrão só registra buscas acima de 1 ms, para que acertos de cache não inundem a gravação.
+ */
+@Name("com.holyplay.HomeVideo")
+@Label("Home Video Lookup")
+@Category({"HolyPlay", "Home"})
+@Description("Busca dos metadados de um vídeo durante a montagem da home")
+@Threshold("1 ms")
+public class HomeVideoEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(HomeVideoEvent.class);
+
+    @Label("Video Id")
+    public String videoId;
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Failed")
+    public boolean failed;
+
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,34 @@
+package com.holyplay.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Consulta ao banco, por método de repositório. Por padrão só registra consultas acima de 1 ms.
+ */
+@Name("com.holyplay.JdbcQuery")
+@Label("JDBC Query")
+@Category({"HolyPlay", "Database"})
+@Description("Execução de um método de repositório (JdbcTemplate ou Spring Data)")
+@Threshold("1 ms")
+public class JdbcQueryEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(JdbcQueryEvent.class);
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Success")
+    public boolean success;
+
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,26 @@
+package com.holyplay.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Validação de assinatura e leitura das claims de um JWT
+ */
+@Name("com.holyplay.JwtParse")
+@Label("JWT Parse")
+@Category({"HolyPlay", "Security"})
+@Description("Parse e verificação de um token JWT")
+public class JwtParseEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(JwtParseEvent.class);
+
+    @Label("Valid Signature")
+    public boolean valid;
+
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
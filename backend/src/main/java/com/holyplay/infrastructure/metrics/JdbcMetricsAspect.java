@@ -0,0 +1,97 @@
+package com.holyplay.infrastructure.metrics;
+
+import com.holyplay.infrastructure.jfr.JdbcQueryEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer por consulta: cada método de repositório (JdbcTemplate ou Spring Data) vira uma série
+ * holyplay.jdbc.query com tags repository, method e outcome.
+ * Os timers ficam em cache por método para não montar o id da métrica a cada chamada.
+ * Com gravação JFR ativa, cada consulta também gera um {@link JdbcQueryEvent}.
+ */
+@Aspect
+@Component
+public class JdbcMetricsAspect {
+
+    private final MeterRegistry registry;
+    // Por classe do bean (o mesmo método de um Spring Data pode servir vários repositórios)
+    private final Map<Class<?>, Map<Method, QueryMeters>> meters = new ConcurrentHashMap<>();
+
+    public JdbcMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("(within(com.holyplay.infrastructure..*) && @within(org.springframework.stereotype.Repository))"
+            + " || target(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object bean = joinPoint.getThis();
+        QueryMeters query = meters.computeIfAbsent(bean.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> register(repositoryName(bean), key));
+        JdbcQueryEvent event = JdbcQueryEvent.enabled() ? new JdbcQueryEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            (success ? query.success : query.error).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = query.repository;
+                    event.method = query.method;
+                    event.success = success;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    /**
+     * Nome da classe JDBC do projeto ou, para proxies do Spring Data, da interface declarada no projeto
+     */
+    private static String repositoryName(Object bean) {
+        Class<?> userClass = ClassUtils.getUserClass(bean);
+        if (!userClass.getName().startsWith("com.holyplay.")) {
+            for (Class<?> type : ClassUtils.getAllInterfaces(bean)) {
+                if (type.getName().startsWith("com.holyplay.")) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return userClass.getSimpleName();
+    }
+
+    private QueryMeters register(String repository, Method method) {
+        return new QueryMeters(repository, method.getName(),
+                timer(repository, method.getName(), "SUCCESS"), timer(repository, method.getName(), "ERROR"));
+    }
+
+    private Timer timer(String repository, String method, String outcome) {
+        return Timer.builder("holyplay.jdbc.query")
+                .description("Duração das consultas ao banco por método de repositório")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record QueryMeters(String repository, String method, Timer success, Timer error) {}
+}
@@ -0,0 +1,30 @@
+package com.holyplay.infrastructure.tracing;
+
+/**
+ * Trecho cronometrado de um trace, encerrado com try-with-resources.
+ * Fora de requisições amostradas o {@link #NOOP} compartilhado é devolvido, sem alocação.
+ */
+public class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null, null) {
+        @Override
+        public void close() {
+        }
+    };
+
+    private final Trace trace;
+    private final String layer;
+    private final String name;
+    private final long startNanos = System.nanoTime();
+
+    Span(Trace trace, String layer, String name) {
+        this.trace = trace;
+        this.layer = layer;
+        this.name = name;
+    }
+
+    @Override
+    public void close() {
+        trace.record(layer, name, startNanos, System.nanoTime());
+    }
+}
@@ -0,0 +1,62 @@
+package com.holyplay.infrastructure.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trace de uma requisição amostrada: a raiz (método e rota) e os spans registrados por camada.
+ * Spans podem terminar em outras threads (chamadas assíncronas à Bunny), por isso a lista é sincronizada.
+ */
+public final class Trace {
+
+    private final String traceId;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final List<SpanRecord> spans = new ArrayList<>();
+    private String name;
+    private int status;
+    private long durationNanos = -1;
+
+    Trace(String traceId, String name) {
+        this.traceId = traceId;
+        this.name = name;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Registra um span já concluído. Ignorado depois que o trace foi encerrado.
+     */
+    public synchronized void record(String layer, String name, long spanStartNanos, long spanEndNanos) {
+        if (durationNanos < 0) {
+            spans.add(new SpanRecord(layer, name, spanStartNanos - startNanos, spanEndNanos - spanStartNanos,
+                    Thread.currentThread().getName()));
+        }
+    }
+
+    synchronized void finish() {
+        durationNanos = System.nanoTime() - startNanos;
+    }
+
+    String getName() { return name; }
+    int getStatus() { return status; }
+    Instant getStartedAt() { return startedAt; }
+    long getDurationNanos() { return durationNanos; }
+
+    synchronized List<SpanRecord> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    record SpanRecord(String layer, String name, long offsetNanos, long durationNanos, String thread) {}
+}
@@ -0,0 +1,179 @@
+package com.holyplay.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exporta traces concluídos como JSON lines, fora da thread da requisição.
+ * Grava em arquivo local (rotacionado ao passar do tamanho máximo) e, se configurado,
+ * envia os lotes por POST a um coletor. Com a fila cheia, o trace é descartado.
+ * A thread de exportação só existe com tracing ligado e ao menos um destino (arquivo ou coletor).
+ */
+@Component
+public class TraceExporter implements DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final long maxFileBytes;
+    private final URI endpoint;
+    private final HttpClient httpClient;
+    private final BlockingQueue<Trace> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker; // null quando não há o que exportar
+    private volatile boolean running = true;
+
+    public TraceExporter(
+            ObjectMapper objectMapper,
+            @Value("${tracing.enabled:false}") boolean enabled,
+            @Value("${tracing.export.file:${java.io.tmpdir}/holyplay-traces.jsonl}") String file,
+            @Value("${tracing.export.max-file-mb:100}") long maxFileMb,
+            @Value("${tracing.export.endpoint:}") String endpoint,
+            @Value("${tracing.export.queue-capacity:1024}") int queueCapacity
+    ) {
+        this.objectMapper = objectMapper;
+        this.file = file.isBlank() ? null : Path.of(file.trim());
+        this.maxFileBytes = maxFileMb * 1024 * 1024;
+        this.endpoint = endpoint.isBlank() ? null : URI.create(endpoint.trim());
+        this.httpClient = this.endpoint == null ? null : HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (!enabled || (this.file == null && this.endpoint == null)) {
+            this.worker = null;
+            if (enabled) {
+                System.err.println("⚠️ Tracing ligado sem arquivo nem coletor configurado; traces serão descartados");
+            }
+            return;
+        }
+        this.worker = new Thread(this::run, "trace-exporter");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void export(Trace trace) {
+        if (worker == null || !queue.offer(trace)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void run() {
+        List<Trace> batch = new ArrayList<>();
+        while (running) {
+            try {
+                Trace first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, 255);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("⚠️ Falha ao exportar " + batch.size() + " traces: " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Trace> batch) throws IOException, InterruptedException {
+        StringBuilder lines = new StringBuilder();
+        for (Trace trace : batch) {
+            lines.append(objectMapper.writeValueAsString(toMap(trace))).append('\n');
+        }
+        byte[] payload = lines.toString().getBytes(StandardCharsets.UTF_8);
+
+        if (file != null) {
+            if (Files.exists(file) && Files.size(file) + payload.length > maxFileBytes) {
+                Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(lines.toString());
+            }
+        }
+        if (endpoint != null) {
+            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                System.err.println("⚠️ Coletor de traces respondeu " + response.statusCode());
+            }
+        }
+    }
+
+    /**
+     * Uma linha por trace: raiz, total por camada e os spans com início relativo à raiz
+     */
+    private static Map<String, Object> toMap(Trace trace) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", trace.getTraceId());
+        map.put("name", trace.getName());
+        map.put("status", trace.getStatus());
+        map.put("startedAt", trace.getStartedAt().toString());
+        map.put("durationMs", millis(trace.getDurationNanos()));
+
+        Map<String, Double> layers = new LinkedHashMap<>();
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (Trace.SpanRecord span : trace.getSpans()) {
+            layers.merge(span.layer(), millis(span.durationNanos()), Double::sum);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("layer", span.layer());
+            item.put("name", span.name());
+            item.put("offsetMs", millis(span.offsetNanos()));
+            item.put("durationMs", millis(span.durationNanos()));
+            item.put("thread", span.thread());
+            spans.add(item);
+        }
+        map.put("layersMs", layers);
+        map.put("spans", spans);
+        return map;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.holyplay.infrastructure.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracing por requisição, com amostragem.
+ * O filtro HTTP decide se a requisição é amostrada e guarda o trace na thread; as camadas
+ * (controller, use case, JDBC, Bunny) abrem spans que só custam algo quando há trace ativo.
+ * Traces concluídos seguem para o {@link TraceExporter}.
+ */
+@Component
+public class Tracer {
+
+    public static final String LAYER_CONTROLLER = "controller";
+    public static final String LAYER_USE_CASE = "usecase";
+    public static final String LAYER_JDBC = "jdbc";
+    public static final String LAYER_BUNNY = "bunny";
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private final TraceExporter exporter;
+    private final boolean enabled;
+    private final double sampleRate;
+
+    public Tracer(
+            TraceExporter exporter,
+            @Value("${tracing.enabled:false}") boolean enabled,
+            @Value("${tracing.sample-rate:0.01}") double sampleRate
+    ) {
+        this.exporter = exporter;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Inicia o trace de uma requisição se ela for sorteada; null quando não amostrada
+     */
+    public Trace begin(String name) {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        Trace trace = new Trace(Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE), name);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Encerra o trace da thread e o envia para exportação
+     */
+    public void end(Trace trace) {
+        CURRENT.remove();
+        trace.finish();
+        exporter.export(trace);
+    }
+
+    /**
+     * Trace ativo na thread atual, ou null
+     */
+    public Trace current() {
+        return CURRENT.get();
+    }
+
+    public Span span(String layer, String name) {
+        Trace trace = CURRENT.get();
+        return trace == null ? Span.NOOP : new Span(trace, layer, name);
+    }
+}
@@ -0,0 +1,53 @@
+package com.holyplay.infrastructure.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spans automáticos para controllers, use cases e repositórios.
+ * Só é registrado com tracing.enabled=true, para que sem tracing nenhum bean ganhe proxy extra.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true")
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(com.holyplay.api..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(Tracer.LAYER_CONTROLLER, joinPoint);
+    }
+
+    @Around("within(com.holyplay.application..*)"
+            + " || (within(com.holyplay.api..*) && @within(org.springframework.stereotype.Service))")
+    public Object useCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(Tracer.LAYER_USE_CASE, joinPoint);
+    }
+
+    @Around("(within(com.holyplay.infrastructure..*) && @within(org.springframework.stereotype.Repository))"
+            + " || target(org.springframework.data.repository.Repository)")
+    public Object jdbc(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(Tracer.LAYER_JDBC, joinPoint);
+    }
+
+    private Object trace(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (tracer.current() == null) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        Span span = tracer.span(layer, name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            span.close();
+        }
+    }
+}
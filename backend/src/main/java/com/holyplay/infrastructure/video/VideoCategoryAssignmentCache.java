@@ -0,0 +1,67 @@
+package com.holyplay.infrastructure.video;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.holyplay.domain.video.VideoCategory;
+import com.holyplay.domain.video.VideoCategoryAssignment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache limitado videoId → categoria, usado pela página do player a cada visualização.
+ * Vídeos sem categoria também ficam em cache (Optional vazio). Atribuições feitas por esta
+ * instância atualizam o cache na hora (write-through); as feitas por outra instância ou direto
+ * no banco aparecem quando a entrada expira.
+ * A categoria principal é também uma das tags do vídeo: a atribuição mantém o índice de tags.
+ */
+@Component
+public class VideoCategoryAssignmentCache implements MeterBinder {
+
+    private final VideoCategoryJdbcRepository repository;
+    private final VideoTagIndex tagIndex;
+    private final Cache<String, Optional<VideoCategory>> cache;
+
+    public VideoCategoryAssignmentCache(
+            VideoCategoryJdbcRepository repository,
+            VideoTagIndex tagIndex,
+            @Value("${videos.category-cache.max-size:50000}") long maxSize,
+            @Value("${videos.category-cache.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.repository = repository;
+        this.tagIndex = tagIndex;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Categoria do vídeo; na falta de entrada em cache, uma única consulta (JOIN) ao banco
+     */
+    public Optional<VideoCategory> get(String videoId) {
+        return cache.get(videoId, repository::findCategoryByVideoId);
+    }
+
+    /**
+     * Grava a atribuição, já deixa o cache com a categoria nova e troca a categoria anterior pela nova nas tags
+     */
+    public VideoCategoryAssignment assign(String videoId, VideoCategory category) {
+        Long previous = repository.findCategoryByVideoId(videoId).map(VideoCategory::getId).orElse(null);
+        VideoCategoryAssignment assignment = repository.upsertAssignment(videoId, category.getId());
+        cache.put(videoId, Optional.of(category));
+        tagIndex.replacePrimaryTag(videoId, previous, category.getId());
+        return assignment;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "videos.category-assignments");
+    }
+}
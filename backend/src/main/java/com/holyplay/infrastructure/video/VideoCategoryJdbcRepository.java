@@ -3,14 +3,17 @@ package com.holyplay.infrastructure.video;
 import com.holyplay.domain.video.VideoCategory;
 import com.holyplay.domain.video.VideoCategoryAssignment;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
 public class VideoCategoryJdbcRepository {
@@ -61,6 +64,18 @@ public class VideoCategoryJdbcRepository {
         return list.stream().findFirst();
     }
 
+    /**
+     * Categoria atribuída ao vídeo, resolvida com um único JOIN (atribuição + categoria)
+     */
+    public Optional<VideoCategory> findCategoryByVideoId(String videoId) {
+        String sql = "SELECT vc.id, vc.name, vc.slug, vc.created_at " +
+                "FROM public.video_category_assignment vca " +
+                "JOIN public.video_category vc ON vc.id = vca.category_id " +
+                "WHERE vca.video_id = ?";
+        var list = jdbcTemplate.query(sql, CATEGORY_MAPPER, videoId);
+        return list.stream().findFirst();
+    }
+
     public VideoCategory createCategory(String name, String slug) {
         String sql = "INSERT INTO public.video_category (name, slug, created_at) " +
                 "VALUES (?, ?, NOW()) " +
@@ -83,9 +98,9 @@ public class VideoCategoryJdbcRepository {
         ), videoId, categoryId);
     }
 
-    public List<VideoWithCategoryInfo> findAllVideosWithCategories() {
-        String sql = """
-            SELECT DISTINCT
+    // Mesma consulta da visão materializada, usada enquanto a visão não foi criada no banco
+    private static final String VIDEO_WITH_CATEGORY_QUERY = """
+            SELECT
                 COALESCE(vd.video_id, vca.video_id) as video_id,
                 vd.description,
                 vc.id as category_id,
@@ -95,18 +110,94 @@ public class VideoCategoryJdbcRepository {
             FULL OUTER JOIN public.video_description vd ON vca.video_id = vd.video_id
             LEFT JOIN public.video_category vc ON vca.category_id = vc.id
             WHERE COALESCE(vd.video_id, vca.video_id) IS NOT NULL
-            ORDER BY COALESCE(vd.video_id, vca.video_id)
             """;
 
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            String videoId = rs.getString("video_id");
-            String description = rs.getString("description");
-            Long categoryId = rs.getObject("category_id", Long.class);
-            String categoryName = rs.getString("category_name");
-            String categorySlug = rs.getString("category_slug");
-            
-            return new VideoWithCategoryInfo(videoId, description, categoryId, categoryName, categorySlug);
-        });
+    private static final String VIDEO_WITH_CATEGORY_VIEW = "public.video_with_category_mv";
+
+    // Visão ausente é conferida de novo depois desse intervalo (pode ser criada com a aplicação no ar)
+    private static final long VIEW_RECHECK_MS = 60_000;
+
+    private volatile boolean videoWithCategoryViewAvailable;
+    private volatile long videoWithCategoryViewRecheckAt;
+
+    /**
+     * Percorre os vídeos com descrição e/ou categoria em ordem de video_id, a partir do cursor
+     * (último video_id da página anterior, exclusivo). As linhas chegam do Postgres em lotes
+     * (fetchSize) e são entregues uma a uma, sem montar a lista inteira em memória.
+     *
+     * @param limit máximo de linhas, ou null para percorrer tudo
+     */
+    @Transactional(readOnly = true)
+    public void forEachVideoWithCategory(String afterVideoId, Integer limit, int fetchSize,
+                                         Consumer<VideoWithCategoryInfo> consumer) {
+        String source = isVideoWithCategoryViewAvailable() ? VIDEO_WITH_CATEGORY_VIEW : "(" + VIDEO_WITH_CATEGORY_QUERY + ")";
+        String sql = "SELECT video_id, description, category_id, category_name, category_slug FROM " + source + " v" +
+                (afterVideoId != null ? " WHERE video_id > ?" : "") +
+                " ORDER BY video_id" +
+                (limit != null ? " LIMIT ?" : "");
+
+        jdbcTemplate.query(
+                con -> {
+                    var ps = con.prepareStatement(sql);
+                    // Com autocommit desligado (transação), o driver usa cursor e busca fetchSize linhas por vez
+                    ps.setFetchSize(fetchSize);
+                    int index = 1;
+                    if (afterVideoId != null) {
+                        ps.setString(index++, afterVideoId);
+                    }
+                    if (limit != null) {
+                        ps.setInt(index, limit);
+                    }
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(new VideoWithCategoryInfo(
+                        rs.getString("video_id"),
+                        rs.getString("description"),
+                        rs.getObject("category_id", Long.class),
+                        rs.getString("category_name"),
+                        rs.getString("category_slug")
+                ))
+        );
+    }
+
+    /**
+     * Página de vídeos de uma categoria em ordem de video_id, após o cursor (exclusivo).
+     * Percorre o índice (category_id, video_id): o custo depende do tamanho da página, não da biblioteca.
+     */
+    public List<VideoWithCategoryInfo> findVideosByCategory(VideoCategory category, String afterVideoId, int limit) {
+        String sql = "SELECT vca.video_id, vd.description " +
+                "FROM public.video_category_assignment vca " +
+                "LEFT JOIN public.video_description vd ON vd.video_id = vca.video_id " +
+                "WHERE vca.category_id = ? AND vca.video_id > ? " +
+                "ORDER BY vca.video_id " +
+                "LIMIT ?";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new VideoWithCategoryInfo(
+                rs.getString("video_id"),
+                rs.getString("description"),
+                category.getId(),
+                category.getName(),
+                category.getSlug()
+        ), category.getId(), afterVideoId != null ? afterVideoId : "", limit);
+    }
+
+    public boolean isVideoWithCategoryViewAvailable() {
+        if (videoWithCategoryViewAvailable) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now < videoWithCategoryViewRecheckAt) {
+            return false;
+        }
+        boolean available = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, VIDEO_WITH_CATEGORY_VIEW));
+        videoWithCategoryViewRecheckAt = now + VIEW_RECHECK_MS;
+        videoWithCategoryViewAvailable = available;
+        return available;
+    }
+
+    public void refreshVideoWithCategoryView() {
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + VIDEO_WITH_CATEGORY_VIEW);
     }
 
     public static class VideoWithCategoryInfo {
@@ -9,6 +9,9 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -39,6 +42,28 @@ public class VideoDescriptionJdbcRepository implements VideoDescriptionRepositor
         return list.stream().findFirst();
     }
 
+    @Override
+    public Map<String, VideoDescription> findByVideoIds(Collection<String> videoIds) {
+        Map<String, VideoDescription> result = new HashMap<>();
+        if (videoIds.isEmpty()) {
+            return result;
+        }
+        // Uma única ida ao banco para todos os ids, via array do PostgreSQL
+        var sql = "SELECT id, video_id, description, created_at, updated_at FROM public.video_description WHERE video_id = ANY(?)";
+        jdbcTemplate.query(
+                con -> {
+                    var ps = con.prepareStatement(sql);
+                    ps.setArray(1, con.createArrayOf("varchar", videoIds.toArray()));
+                    return ps;
+                },
+                rs -> {
+                    VideoDescription vd = MAPPER.mapRow(rs, 0);
+                    result.put(vd.getVideoId(), vd);
+                }
+        );
+        return result;
+    }
+
     @Override
     public VideoDescription upsert(String videoId, String description) {
         // PostgreSQL upsert
@@ -0,0 +1,17 @@
+package com.holyplay.infrastructure.video;
+
+/**
+ * Publicado quando a descrição ou a categoria de um vídeo é gravada.
+ */
+public class VideoMetadataChangedEvent {
+
+    private final String videoId;
+
+    public VideoMetadataChangedEvent(String videoId) {
+        this.videoId = videoId;
+    }
+
+    public String getVideoId() {
+        return videoId;
+    }
+}
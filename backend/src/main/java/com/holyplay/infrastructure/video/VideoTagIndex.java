@@ -0,0 +1,364 @@
+package com.holyplay.infrastructure.video;
+
+import com.holyplay.domain.video.VideoTagFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Índice em memória das tags dos vídeos: um bitmap comprimido (Roaring) por tag, com os
+ * ordinais dos vídeos que a possuem. Filtros como (louvor OR pregacoes) AND infantil viram
+ * operações entre bitmaps, sem consultar o banco.
+ * Cada vídeo recebe um ordinal na ordem de video_id ao carregar o índice; vídeos marcados
+ * depois entram no fim até a próxima recarga completa. As páginas saem sempre em ordem de
+ * video_id, e o cursor é o próprio video_id, então continua válido após uma recarga.
+ * Alterações feitas por esta instância atualizam só os bitmaps afetados; a recarga periódica
+ * traz as de outras instâncias.
+ */
+@Component
+public class VideoTagIndex implements MeterBinder {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final VideoTagJdbcRepository repository;
+    private final int fetchSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Trocados e alterados sob o lock de escrita; null até a primeira carga
+    private volatile State state;
+    // Alterações feitas durante uma recarga, reaplicadas sobre o estado recém-carregado
+    private Map<String, Set<Long>> changedDuringReload;
+
+    public VideoTagIndex(
+            VideoTagJdbcRepository repository,
+            TaskScheduler scheduler,
+            @Value("${videos.tags.fetch-size:5000}") int fetchSize,
+            @Value("${videos.tags.reload-ms:300000}") long reloadMs
+    ) {
+        this.repository = repository;
+        this.fetchSize = fetchSize;
+        scheduler.scheduleWithFixedDelay(this::reloadQuietly, Instant.now().plusMillis(reloadMs), Duration.ofMillis(reloadMs));
+    }
+
+    /**
+     * Vídeos que atendem ao filtro, em ordem de video_id, após o cursor (último videoId da página anterior)
+     *
+     * @param resolveTag converte um termo da expressão no id da tag
+     * @throws IllegalArgumentException se um termo não for uma tag conhecida
+     */
+    public Page filter(VideoTagFilter filter, Function<String, Long> resolveTag, String afterVideoId, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            State current = state;
+            RoaringBitmap matches = filter.evaluate(new VideoTagFilter.Evaluator<RoaringBitmap>() {
+                @Override
+                public RoaringBitmap term(String term) {
+                    return current.bitmapsByTag.getOrDefault(resolveTag.apply(term), EMPTY);
+                }
+
+                @Override
+                public RoaringBitmap and(RoaringBitmap left, RoaringBitmap right) {
+                    return RoaringBitmap.and(left, right);
+                }
+
+                @Override
+                public RoaringBitmap or(RoaringBitmap left, RoaringBitmap right) {
+                    return RoaringBitmap.or(left, right);
+                }
+
+                @Override
+                public RoaringBitmap not(RoaringBitmap operand) {
+                    // Universo: vídeos com ao menos uma tag
+                    return RoaringBitmap.andNot(current.tagged, operand);
+                }
+            });
+
+            // Ordinais da carga estão em ordem de video_id: basta pular até o cursor
+            PeekableIntIterator sorted = matches.getIntIterator();
+            sorted.advanceIfNeeded(current.firstOrdinalAfter(afterVideoId));
+            // Vídeos marcados depois da carga (poucos) são ordenados à parte e intercalados
+            List<String> appended = new ArrayList<>();
+            PeekableIntIterator tail = matches.getIntIterator();
+            tail.advanceIfNeeded(current.sortedCount);
+            while (tail.hasNext()) {
+                String videoId = current.videoByOrdinal.get(tail.next());
+                if (afterVideoId == null || videoId.compareTo(afterVideoId) > 0) {
+                    appended.add(videoId);
+                }
+            }
+            appended.sort(null);
+
+            List<String> videoIds = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+            int next = 0;
+            String head = nextSorted(sorted, current);
+            while (videoIds.size() < limit && (head != null || next < appended.size())) {
+                if (head != null && (next >= appended.size() || head.compareTo(appended.get(next)) < 0)) {
+                    videoIds.add(head);
+                    head = nextSorted(sorted, current);
+                } else {
+                    videoIds.add(appended.get(next++));
+                }
+            }
+            boolean more = head != null || next < appended.size();
+            String nextCursor = more ? videoIds.get(videoIds.size() - 1) : null;
+            return new Page(videoIds, matches.getCardinality(), nextCursor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String nextSorted(PeekableIntIterator iterator, State state) {
+        if (iterator.hasNext() && iterator.peekNext() < state.sortedCount) {
+            return state.videoByOrdinal.get(iterator.next());
+        }
+        return null;
+    }
+
+    /**
+     * Ids das tags do vídeo, em ordem crescente
+     */
+    public Set<Long> tagsOf(String videoId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Set<Long> tags = new TreeSet<>();
+            Integer ordinal = state.ordinalByVideo.get(videoId);
+            if (ordinal != null) {
+                state.bitmapsByTag.forEach((tag, bitmap) -> {
+                    if (bitmap.contains(ordinal)) {
+                        tags.add(tag);
+                    }
+                });
+            }
+            return tags;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grava as tags do vídeo e atualiza os bitmaps afetados
+     */
+    public void replace(String videoId, Set<Long> tagIds) {
+        repository.replaceTags(videoId, tagIds);
+        lock.writeLock().lock();
+        try {
+            if (state != null) {
+                state.apply(videoId, tagIds);
+            }
+            if (changedDuringReload != null) {
+                changedDuringReload.put(videoId, Set.copyOf(tagIds));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Categoria principal trocada: a anterior sai das tags do vídeo e a nova entra
+     */
+    public void replacePrimaryTag(String videoId, Long previousTagId, long tagId) {
+        Set<Long> tags = new LinkedHashSet<>(tagsOf(videoId));
+        if (previousTagId != null && previousTagId != tagId) {
+            tags.remove(previousTagId);
+        }
+        tags.add(tagId);
+        replace(videoId, tags);
+    }
+
+    private void ensureLoaded() {
+        if (state == null) {
+            synchronized (this) {
+                if (state == null) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            synchronized (this) {
+                reload();
+            }
+        } catch (DataAccessException e) {
+            // Mantém o índice anterior; a próxima recarga tenta de novo
+            System.err.println("❌ Erro ao recarregar índice de tags: " + e.getMessage());
+        }
+    }
+
+    private void reload() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State loaded = new State();
+        try {
+            // As linhas chegam em ordem de video_id: o ordinal acompanha essa ordem
+            repository.forEachTagAssignment(fetchSize, loaded::add);
+            loaded.sortedCount = loaded.videoByOrdinal.size();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changedDuringReload.forEach(loaded::apply);
+            changedDuringReload = null;
+            loaded.optimize();
+            state = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("🏷️ Índice de tags carregado: " + loaded.tagged.getCardinality() + " vídeos, "
+                + loaded.bitmapsByTag.size() + " tags em " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private int indexedVideos() {
+        lock.readLock().lock();
+        try {
+            return state != null ? state.tagged.getCardinality() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            if (state == null) {
+                return 0;
+            }
+            long bytes = state.tagged.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : state.bitmapsByTag.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vídeos com tag e tamanho dos bitmaps em memória
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("videos.tags.index.videos", this, VideoTagIndex::indexedVideos)
+                .register(registry);
+        Gauge.builder("videos.tags.index.bytes", this, VideoTagIndex::sizeInBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static final class State {
+        private final Map<Long, RoaringBitmap> bitmapsByTag = new HashMap<>();
+        private final Map<String, Integer> ordinalByVideo = new HashMap<>();
+        private final List<String> videoByOrdinal = new ArrayList<>();
+        private final RoaringBitmap tagged = new RoaringBitmap();
+        // Ordinais abaixo deste vieram da carga, em ordem de video_id; os demais foram acrescentados depois
+        private int sortedCount;
+
+        /**
+         * Primeiro ordinal da carga com video_id maior que o informado (null = do início)
+         */
+        private int firstOrdinalAfter(String videoId) {
+            if (videoId == null) {
+                return 0;
+            }
+            int low = 0;
+            int high = sortedCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (videoByOrdinal.get(mid).compareTo(videoId) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int ordinalOf(String videoId) {
+            return ordinalByVideo.computeIfAbsent(videoId, id -> {
+                videoByOrdinal.add(id);
+                return videoByOrdinal.size() - 1;
+            });
+        }
+
+        private void add(String videoId, Long tagId) {
+            int ordinal = ordinalOf(videoId);
+            bitmapsByTag.computeIfAbsent(tagId, id -> new RoaringBitmap()).add(ordinal);
+            tagged.add(ordinal);
+        }
+
+        private void apply(String videoId, Set<Long> tagIds) {
+            int ordinal = ordinalOf(videoId);
+            bitmapsByTag.forEach((tag, bitmap) -> {
+                if (!tagIds.contains(tag)) {
+                    bitmap.remove(ordinal);
+                }
+            });
+            for (Long tagId : tagIds) {
+                bitmapsByTag.computeIfAbsent(tagId, id -> new RoaringBitmap()).add(ordinal);
+            }
+            if (tagIds.isEmpty()) {
+                tagged.remove(ordinal);
+            } else {
+                tagged.add(ordinal);
+            }
+        }
+
+        private void optimize() {
+            bitmapsByTag.values().forEach(RoaringBitmap::runOptimize);
+            tagged.runOptimize();
+        }
+    }
+
+    public static final class Page {
+        private final List<String> videoIds;
+        private final int total;
+        private final String nextCursor;
+
+        private Page(List<String> videoIds, int total, String nextCursor) {
+            this.videoIds = videoIds;
+            this.total = total;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<String> getVideoIds() { return videoIds; }
+        /** Total de vídeos que atendem ao filtro */
+        public int getTotal() { return total; }
+        public String getNextCursor() { return nextCursor; }
+    }
+}
@@ -0,0 +1,61 @@
+package com.holyplay.infrastructure.video;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+@Repository
+public class VideoTagJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VideoTagJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Percorre todas as tags (video_id, category_id) em ordem de video_id, em lotes de fetchSize linhas.
+     * A ordem é a dos bytes (COLLATE "C"), a mesma de String.compareTo para os ids da Bunny.
+     */
+    @Transactional(readOnly = true)
+    public void forEachTagAssignment(int fetchSize, BiConsumer<String, Long> consumer) {
+        String sql = "SELECT video_id, category_id FROM public.video_tag_assignment " +
+                "ORDER BY video_id COLLATE \"C\", category_id";
+        jdbcTemplate.query(
+                con -> {
+                    var ps = con.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString("video_id"), rs.getLong("category_id"))
+        );
+    }
+
+    /**
+     * Substitui as tags do vídeo pelo conjunto informado (as que continuam mantêm o created_at)
+     */
+    @Transactional
+    public void replaceTags(String videoId, Set<Long> categoryIds) {
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(
+                    "DELETE FROM public.video_tag_assignment WHERE video_id = ? AND NOT (category_id = ANY (?))");
+            ps.setString(1, videoId);
+            ps.setArray(2, con.createArrayOf("bigint", categoryIds.toArray()));
+            return ps;
+        });
+
+        List<Object[]> rows = new ArrayList<>(categoryIds.size());
+        for (Long categoryId : categoryIds) {
+            rows.add(new Object[]{videoId, categoryId});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO public.video_tag_assignment (video_id, category_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                rows);
+    }
+}
@@ -0,0 +1,87 @@
+package com.holyplay.infrastructure.video;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mantém a visão materializada video_with_category_mv em dia.
+ * Alterações próximas são agrupadas num único REFRESH CONCURRENTLY, que não bloqueia leituras.
+ * Um refresh que falha é repetido com espera crescente, sem depender da próxima alteração.
+ */
+@Component
+public class VideoWithCategoryViewRefresher {
+
+    private final VideoCategoryJdbcRepository repository;
+    private final TaskScheduler scheduler;
+    private static final long MAX_RETRY_DELAY_MS = 300_000;
+
+    private final long refreshDelayMs;
+
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public VideoWithCategoryViewRefresher(
+            VideoCategoryJdbcRepository repository,
+            TaskScheduler scheduler,
+            @Value("${videos.with-categories.refresh-delay-ms:2000}") long refreshDelayMs
+    ) {
+        this.repository = repository;
+        this.scheduler = scheduler;
+        this.refreshDelayMs = refreshDelayMs;
+    }
+
+    /**
+     * Ao subir, atualiza uma vez: a visão pode ter ficado para trás enquanto a aplicação estava parada
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (repository.isVideoWithCategoryViewAvailable()) {
+            requestRefresh();
+        } else {
+            System.out.println("⚠️ Visão video_with_category_mv não encontrada; listagem usa a consulta direta " +
+                    "(execute sql/create_video_with_category_view.sql)");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMetadataChanged(VideoMetadataChangedEvent event) {
+        requestRefresh();
+    }
+
+    public void requestRefresh() {
+        if (repository.isVideoWithCategoryViewAvailable()) {
+            schedule(refreshDelayMs);
+        }
+    }
+
+    private void schedule(long delayMs) {
+        if (refreshPending.compareAndSet(false, true)) {
+            scheduler.schedule(this::refresh, Instant.now().plusMillis(delayMs));
+        }
+    }
+
+    private void refresh() {
+        refreshPending.set(false);
+        try {
+            long start = System.nanoTime();
+            repository.refreshVideoWithCategoryView();
+            System.out.println("🔄 video_with_category_mv atualizada em " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            failures.set(0);
+        } catch (Exception e) {
+            // Enquanto isso a listagem serve a versão anterior; espera dobra a cada falha, até 5 min
+            int attempt = Math.min(failures.incrementAndGet(), 10);
+            long delayMs = Math.min(Math.max(refreshDelayMs, 1_000) << attempt, MAX_RETRY_DELAY_MS);
+            System.err.println("❌ Erro ao atualizar video_with_category_mv (nova tentativa em " + delayMs + " ms): "
+                    + e.getMessage());
+            schedule(delayMs);
+        }
+    }
+}
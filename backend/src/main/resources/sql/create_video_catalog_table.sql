@@ -0,0 +1,39 @@
+-- Espelho local da biblioteca de vídeos da Bunny Stream
+-- Preenchido pelo job de sincronização (VideoCatalogSync); o caminho público de leitura usa esta tabela
+-- Execute este script no seu banco PostgreSQL
+
+CREATE TABLE IF NOT EXISTS public.video_catalog (
+    video_id CHARACTER VARYING(128) PRIMARY KEY,
+    title CHARACTER VARYING(512),
+    description TEXT,
+    length_seconds INTEGER,
+    views BIGINT,
+    status INTEGER,
+    thumbnail_file_name CHARACTER VARYING(255),
+    category CHARACTER VARYING(255),
+    date_uploaded TIMESTAMP WITHOUT TIME ZONE,
+    content_hash CHARACTER VARYING(64) NOT NULL,
+    thumbnail_url CHARACTER VARYING(1024),
+    thumbnail_width INTEGER,
+    thumbnail_height INTEGER,
+    thumbnail_source_file CHARACTER VARYING(255),
+    thumbnail_checked_status INTEGER,
+    thumbnail_checked_at TIMESTAMP WITHOUT TIME ZONE,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE,
+    synced_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- Vídeos ativos (não removidos na Bunny) ordenados por data de upload
+CREATE INDEX IF NOT EXISTS idx_video_catalog_active_date
+    ON public.video_catalog(date_uploaded DESC, video_id)
+    WHERE deleted_at IS NULL;
+
+-- Thumbnail verificada pelo ThumbnailResolver (URL que respondeu na CDN e dimensões originais)
+-- Bancos criados antes destas colunas: execute também estes comandos
+ALTER TABLE public.video_catalog ADD COLUMN IF NOT EXISTS thumbnail_url CHARACTER VARYING(1024);
+ALTER TABLE public.video_catalog ADD COLUMN IF NOT EXISTS thumbnail_width INTEGER;
+ALTER TABLE public.video_catalog ADD COLUMN IF NOT EXISTS thumbnail_height INTEGER;
+ALTER TABLE public.video_catalog ADD COLUMN IF NOT EXISTS thumbnail_source_file CHARACTER VARYING(255);
+ALTER TABLE public.video_catalog ADD COLUMN IF NOT EXISTS thumbnail_checked_status INTEGER;
+ALTER TABLE public.video_catalog ADD COLUMN IF NOT EXISTS thumbnail_checked_at TIMESTAMP WITHOUT TIME ZONE;
@@ -0,0 +1,6 @@
+-- Índice para listar os vídeos de uma categoria em ordem de video_id (GET /api/videos?category={slug})
+-- A paginação por cursor (video_id > ?) percorre só a faixa da página no índice
+-- Execute este script no seu banco PostgreSQL
+
+CREATE INDEX IF NOT EXISTS idx_video_category_assignment_category_video
+    ON public.video_category_assignment(category_id, video_id);
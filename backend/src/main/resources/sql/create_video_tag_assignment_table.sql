@@ -0,0 +1,20 @@
+-- Tags dos vídeos: várias categorias por vídeo (tema, público, formato...), usando o mesmo cadastro de video_category
+-- Carregadas em memória como bitmaps (VideoTagIndex) para os filtros GET /api/videos?tags=(louvor OR pregacoes) AND infantil
+-- Execute este script no seu banco PostgreSQL
+
+CREATE TABLE IF NOT EXISTS public.video_tag_assignment (
+    video_id CHARACTER VARYING(128) NOT NULL,
+    category_id BIGINT NOT NULL REFERENCES public.video_category(id),
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (video_id, category_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_video_tag_assignment_category_video
+    ON public.video_tag_assignment(category_id, video_id);
+
+-- A categoria principal de cada vídeo também é uma das tags. Esta carga inicial cobre as atribuições
+-- existentes (pode ser executada de novo sem efeito); depois, PUT /api/videos/{id}/category mantém a tag
+-- e o índice em memória em dia, trocando a categoria anterior pela nova
+INSERT INTO public.video_tag_assignment (video_id, category_id)
+SELECT video_id, category_id FROM public.video_category_assignment
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,20 @@
+-- Visão materializada de vídeos com descrição e categoria (GET /api/videos/videos-with-categories)
+-- Atualizada em segundo plano (REFRESH ... CONCURRENTLY) quando descrições ou categorias mudam;
+-- sem esta visão o endpoint continua funcionando com a consulta direta nas tabelas
+-- Execute este script no seu banco PostgreSQL
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS public.video_with_category_mv AS
+SELECT
+    COALESCE(vd.video_id, vca.video_id) AS video_id,
+    vd.description,
+    vc.id AS category_id,
+    vc.name AS category_name,
+    vc.slug AS category_slug
+FROM public.video_category_assignment vca
+FULL OUTER JOIN public.video_description vd ON vca.video_id = vd.video_id
+LEFT JOIN public.video_category vc ON vca.category_id = vc.id
+WHERE COALESCE(vd.video_id, vca.video_id) IS NOT NULL;
+
+-- Índice único: exigido pelo REFRESH CONCURRENTLY e usado na paginação por video_id
+CREATE UNIQUE INDEX IF NOT EXISTS idx_video_with_category_mv_video_id
+    ON public.video_with_category_mv(video_id);
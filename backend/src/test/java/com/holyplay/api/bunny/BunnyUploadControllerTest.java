@@ -0,0 +1,88 @@
+package com.holyplay.api.bunny;
+
+import com.holyplay.infrastructure.bunny.BunnyUploadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BunnyUploadControllerTest {
+
+    private final BunnyUploadService service = mock(BunnyUploadService.class);
+    private final BunnyUploadService.UploadSession session = mock(BunnyUploadService.UploadSession.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new BunnyUploadController(service)).build();
+
+    private void sessionAt(long offset, boolean transferring) {
+        when(service.find("upload-1")).thenReturn(Optional.of(session));
+        when(session.getOffset()).thenReturn(offset);
+        when(session.isTransferring()).thenReturn(transferring);
+    }
+
+    private void appendRejected() {
+        when(service.appendChunk(eq(session), anyLong(), anyLong(), any(InputStream.class)))
+                .thenThrow(new IllegalStateException("recusado"));
+    }
+
+    @Test
+    void pedacoAceitoDevolveONovoOffset() throws Exception {
+        sessionAt(0, false);
+        when(service.appendChunk(eq(session), eq(0L), eq(4L), any(InputStream.class))).thenReturn(4L);
+
+        mvc.perform(patch("/api/bunny/uploads/upload-1")
+                        .header("Upload-Offset", "0")
+                        .contentType("application/offset+octet-stream")
+                        .content(new byte[4]))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Upload-Offset", "4"));
+    }
+
+    @Test
+    void offsetDesatualizadoDevolve409ComOffsetConfirmado() throws Exception {
+        sessionAt(40, false);
+        appendRejected();
+
+        mvc.perform(patch("/api/bunny/uploads/upload-1")
+                        .header("Upload-Offset", "0")
+                        .contentType("application/offset+octet-stream")
+                        .content(new byte[4]))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Upload-Offset", "40"))
+                .andExpect(header().doesNotExist("Retry-After"));
+    }
+
+    @Test
+    void pedacoDuranteOutraTransferenciaDevolve423ComRetryAfter() throws Exception {
+        sessionAt(40, true);
+        appendRejected();
+
+        mvc.perform(patch("/api/bunny/uploads/upload-1")
+                        .header("Upload-Offset", "40")
+                        .contentType("application/offset+octet-stream")
+                        .content(new byte[4]))
+                .andExpect(status().isLocked())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(header().string("Upload-Offset", "40"));
+    }
+
+    @Test
+    void uploadDesconhecidoDevolve404() throws Exception {
+        when(service.find("upload-1")).thenReturn(Optional.empty());
+
+        mvc.perform(patch("/api/bunny/uploads/upload-1")
+                        .header("Upload-Offset", "0")
+                        .contentType("application/offset+octet-stream")
+                        .content(new byte[4]))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,175 @@
+package com.holyplay.api.home;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holyplay.api.ContentEtag;
+import com.holyplay.api.home.dto.HomePageResponse;
+import com.holyplay.infrastructure.bunny.VideoCatalogChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HomePageSnapshotTest {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FakeHomeService service = new FakeHomeService();
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    private HomePageSnapshot newSnapshot(long retryPartialMs) {
+        // Atualização periódica longe o bastante para não rodar durante o teste
+        return new HomePageSnapshot(service, objectMapper, executor, 3_600_000, retryPartialMs);
+    }
+
+    /**
+     * Espera as tarefas já enfileiradas na thread do snapshot terminarem
+     */
+    private void drainExecutor() throws Exception {
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void primeiraLeituraMontaAPaginaComEtagDoConteudo() throws Exception {
+        HomePageSnapshot snapshot = newSnapshot(60_000);
+
+        HomePageSnapshot.Snapshot current = snapshot.get();
+
+        assertEquals(1, service.builds.get());
+        assertEquals(ContentEtag.of(current.getJson()), current.getEtag());
+        assertEquals(Set.of("v1", "v2"), current.getVideoIds());
+        HomePageResponse parsed = objectMapper.readValue(current.getJson(), HomePageResponse.class);
+        assertEquals("Vídeo v1", parsed.getSections().get(0).getVideos().get(0).getTitle());
+        // Leituras seguintes reaproveitam o snapshot
+        snapshot.get();
+        assertEquals(1, service.builds.get());
+    }
+
+    @Test
+    void etagSoMudaQuandoOConteudoMuda() throws Exception {
+        HomePageSnapshot snapshot = newSnapshot(60_000);
+        String first = snapshot.get().getEtag();
+
+        snapshot.requestRebuild();
+        drainExecutor();
+        assertEquals(first, snapshot.get().getEtag());
+
+        service.title = "Novo título";
+        snapshot.requestRebuild();
+        drainExecutor();
+        assertNotEquals(first, snapshot.get().getEtag());
+    }
+
+    @Test
+    void pedidosDuranteUmaReconstrucaoViramUmaSo() throws Exception {
+        HomePageSnapshot snapshot = newSnapshot(60_000);
+        service.block();
+
+        snapshot.requestRebuild();
+        assertTrue(service.started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            snapshot.requestRebuild();
+        }
+        service.release();
+        drainExecutor();
+
+        // A que estava em andamento mais uma com todos os pedidos feitos durante ela
+        assertEquals(2, service.builds.get());
+    }
+
+    @Test
+    void alteracaoNoCatalogoSoReconstroiSeOVideoEstaNaHome() throws Exception {
+        HomePageSnapshot snapshot = newSnapshot(60_000);
+        snapshot.get();
+
+        snapshot.onCatalogChanged(new VideoCatalogChangedEvent(Set.of("outro"), false));
+        drainExecutor();
+        assertEquals(1, service.builds.get());
+
+        snapshot.onCatalogChanged(new VideoCatalogChangedEvent(Set.of("outro", "v2"), false));
+        drainExecutor();
+        assertEquals(2, service.builds.get());
+    }
+
+    @Test
+    void paginaParcialEhRefeitaDepoisDaEspera() throws Exception {
+        HomePageSnapshot snapshot = newSnapshot(50);
+        service.partial = true;
+        snapshot.requestRebuild();
+        drainExecutor();
+        assertTrue(snapshot.get().isPartial());
+
+        // Sem novo pedido: a própria reconstrução parcial agendou a próxima tentativa
+        service.partial = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (snapshot.get().isPartial() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(snapshot.get().isPartial());
+        int builds = service.builds.get();
+
+        // Página completa: nenhuma nova tentativa agendada
+        Thread.sleep(150);
+        drainExecutor();
+        assertEquals(builds, service.builds.get());
+    }
+
+    /**
+     * Serviço da home com uma página fixa de dois vídeos; pode segurar a montagem para simular lentidão
+     */
+    private static final class FakeHomeService extends HomeConfigurationService {
+        private final AtomicInteger builds = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile String title;
+        private volatile boolean partial;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public HomePageResponse getHomePageData() {
+            builds.incrementAndGet();
+            started.countDown();
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                gate = null;
+            }
+            HomePageResponse page = new HomePageResponse(List.of(new HomePageResponse.HomeSectionResponse(
+                    "destaques", "Destaques", List.of(video("v1"), video("v2")))));
+            page.setPartial(partial);
+            return page;
+        }
+
+        private HomePageResponse.HomeVideoResponse video(String videoId) {
+            HomePageResponse.HomeVideoResponse video = new HomePageResponse.HomeVideoResponse();
+            video.setVideoId(videoId);
+            video.setTitle(title != null && videoId.equals("v1") ? title : "Vídeo " + videoId);
+            return video;
+        }
+    }
+}
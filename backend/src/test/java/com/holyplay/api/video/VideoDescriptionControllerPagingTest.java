@@ -0,0 +1,133 @@
+package com.holyplay.api.video;
+
+import com.holyplay.api.video.dto.VideoWithCategoryPageResponse;
+import com.holyplay.api.video.dto.VideoWithCategoryResponse;
+import com.holyplay.domain.video.VideoCategory;
+import com.holyplay.infrastructure.video.VideoCategoryJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VideoDescriptionControllerPagingTest {
+
+    private static final VideoCategory CATEGORY = new VideoCategory(1L, "Louvor", "louvor", LocalDateTime.now());
+    private static final int DEFAULT_LIMIT = 3;
+    private static final int MAX_LIMIT = 5;
+
+    /**
+     * Categoria em memória: devolve os vídeos após o cursor, em ordem, e guarda o limite pedido
+     */
+    private static final class InMemoryCategoryRepository extends VideoCategoryJdbcRepository {
+        private final List<String> videoIds = new ArrayList<>();
+        private final List<Integer> requestedLimits = new ArrayList<>();
+
+        InMemoryCategoryRepository(int videos) {
+            super(null);
+            IntStream.range(0, videos).forEach(i -> videoIds.add(String.format("video-%02d", i)));
+        }
+
+        @Override
+        public List<VideoWithCategoryInfo> findVideosByCategory(VideoCategory category, String afterVideoId, int limit) {
+            requestedLimits.add(limit);
+            return videoIds.stream()
+                    .filter(id -> afterVideoId == null || id.compareTo(afterVideoId) > 0)
+                    .limit(limit)
+                    .map(id -> new VideoWithCategoryInfo(id, null, category.getId(), category.getName(), category.getSlug()))
+                    .toList();
+        }
+    }
+
+    private static VideoDescriptionController controller(InMemoryCategoryRepository repository) {
+        VideoCategoryCatalog catalog = mock(VideoCategoryCatalog.class);
+        when(catalog.findBySlug("louvor")).thenReturn(Optional.of(CATEGORY));
+        when(catalog.findBySlug("inexistente")).thenReturn(Optional.empty());
+        return new VideoDescriptionController(null, null, repository, catalog, null, null, null,
+                1000, 500, DEFAULT_LIMIT, MAX_LIMIT);
+    }
+
+    private static List<String> ids(VideoWithCategoryPageResponse page) {
+        return page.getItems().stream().map(VideoWithCategoryResponse::getVideoId).toList();
+    }
+
+    @Test
+    void pedeUmaLinhaAMaisQueOLimite() {
+        InMemoryCategoryRepository repository = new InMemoryCategoryRepository(10);
+
+        controller(repository).getVideosByCategory("louvor", null, 4);
+
+        assertEquals(List.of(5), repository.requestedLimits);
+    }
+
+    @Test
+    void exatamenteOLimiteNaoGeraCursor() {
+        VideoWithCategoryPageResponse page =
+                controller(new InMemoryCategoryRepository(3)).getVideosByCategory("louvor", null, 3).getBody();
+
+        assertEquals(List.of("video-00", "video-01", "video-02"), ids(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void umaLinhaAlemDoLimiteGeraCursorNoUltimoItemDaPagina() {
+        VideoWithCategoryPageResponse page =
+                controller(new InMemoryCategoryRepository(4)).getVideosByCategory("louvor", null, 3).getBody();
+
+        assertEquals(List.of("video-00", "video-01", "video-02"), ids(page));
+        assertEquals("video-02", page.getNextCursor());
+    }
+
+    @Test
+    void cursorPercorreTodosOsVideosSemRepetirNemPular() {
+        VideoDescriptionController controller = controller(new InMemoryCategoryRepository(7));
+        List<String> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            VideoWithCategoryPageResponse page = controller.getVideosByCategory("louvor", cursor, 3).getBody();
+            all.addAll(ids(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(IntStream.range(0, 7).mapToObj(i -> String.format("video-%02d", i)).toList(), all);
+    }
+
+    @Test
+    void cursorEmBrancoEquivaleAPrimeiraPagina() {
+        VideoWithCategoryPageResponse page =
+                controller(new InMemoryCategoryRepository(4)).getVideosByCategory("louvor", "  ", 2).getBody();
+
+        assertEquals(List.of("video-00", "video-01"), ids(page));
+    }
+
+    @Test
+    void limiteEhLimitadoEntreUmEOMaximo() {
+        InMemoryCategoryRepository repository = new InMemoryCategoryRepository(20);
+        VideoDescriptionController controller = controller(repository);
+
+        assertEquals(MAX_LIMIT, controller.getVideosByCategory("louvor", null, 1000).getBody().getLimit());
+        assertEquals(1, controller.getVideosByCategory("louvor", null, 0).getBody().getLimit());
+        assertEquals(DEFAULT_LIMIT, controller.getVideosByCategory("louvor", null, null).getBody().getLimit());
+        assertEquals(List.of(MAX_LIMIT + 1, 2, DEFAULT_LIMIT + 1), repository.requestedLimits);
+    }
+
+    @Test
+    void categoriaDesconhecidaDevolve404() {
+        ResponseEntity<VideoWithCategoryPageResponse> response =
+                controller(new InMemoryCategoryRepository(3)).getVideosByCategory("inexistente", null, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
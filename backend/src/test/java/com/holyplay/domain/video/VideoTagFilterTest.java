@@ -0,0 +1,93 @@
+package com.holyplay.domain.video;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VideoTagFilterTest {
+
+    // Reescreve a expressão com todos os parênteses, para conferir a árvore montada pelo parser
+    private static final VideoTagFilter.Evaluator<String> PRINTER = new VideoTagFilter.Evaluator<>() {
+        @Override
+        public String term(String term) { return term; }
+
+        @Override
+        public String and(String left, String right) { return "(" + left + " AND " + right + ")"; }
+
+        @Override
+        public String or(String left, String right) { return "(" + left + " OR " + right + ")"; }
+
+        @Override
+        public String not(String operand) { return "(NOT " + operand + ")"; }
+    };
+
+    private static String tree(String expression) {
+        return VideoTagFilter.parse(expression).evaluate(PRINTER);
+    }
+
+    @Test
+    void andTemPrecedenciaSobreOr() {
+        assertEquals("(louvor OR (pregacoes AND infantil))", tree("louvor OR pregacoes AND infantil"));
+        assertEquals("((louvor AND pregacoes) OR infantil)", tree("louvor AND pregacoes OR infantil"));
+    }
+
+    @Test
+    void notTemAMaiorPrecedencia() {
+        assertEquals("((NOT louvor) AND infantil)", tree("NOT louvor AND infantil"));
+        assertEquals("(NOT (NOT louvor))", tree("NOT NOT louvor"));
+    }
+
+    @Test
+    void parentesesMudamAPrecedencia() {
+        assertEquals("((louvor OR pregacoes) AND infantil)", tree("(louvor OR pregacoes) AND infantil"));
+        assertEquals("(NOT (louvor OR pregacoes))", tree("NOT (louvor OR pregacoes)"));
+    }
+
+    @Test
+    void operadoresSemDiferenciarMaiusculas() {
+        assertEquals("((louvor AND pregacoes) OR (NOT infantil))", tree("louvor and pregacoes Or not infantil"));
+    }
+
+    @Test
+    void operadoresEncadeadosAssociamAEsquerda() {
+        assertEquals("((a OR b) OR c)", tree("a OR b OR c"));
+        assertEquals("((a AND b) AND c)", tree("a AND b AND c"));
+    }
+
+    @Test
+    void termoEntreAspasPodeTerEspacoEPalavraReservada() {
+        VideoTagFilter filter = VideoTagFilter.parse("\"estudo biblico\" AND \"and\" OR louvor");
+        assertEquals("((estudo biblico AND and) OR louvor)", filter.evaluate(PRINTER));
+        assertEquals(List.of("estudo biblico", "and", "louvor"), List.copyOf(filter.getTerms()));
+    }
+
+    @Test
+    void termosRepetidosAparecemUmaVez() {
+        VideoTagFilter filter = VideoTagFilter.parse("(louvor AND infantil) OR (louvor AND jovens)");
+        assertEquals(List.of("louvor", "infantil", "jovens"), List.copyOf(filter.getTerms()));
+    }
+
+    @Test
+    void expressaoEhGuardadaSemEspacosNasPontas() {
+        assertEquals("louvor AND infantil", VideoTagFilter.parse("  louvor AND infantil ").getExpression());
+    }
+
+    @Test
+    void rejeitaExpressoesInvalidas() {
+        for (String invalid : new String[] {
+                "", "   ", "louvor AND", "AND louvor", "(louvor OR pregacoes", "louvor)", "louvor pregacoes",
+                "\"estudo biblico", "\"  \"", "()", "NOT"}) {
+            assertThrows(IllegalArgumentException.class, () -> VideoTagFilter.parse(invalid), invalid);
+        }
+        assertThrows(IllegalArgumentException.class, () -> VideoTagFilter.parse(null));
+    }
+
+    @Test
+    void rejeitaExpressaoLongaDemais() {
+        String tooLong = "a OR ".repeat(VideoTagFilter.MAX_LENGTH / 5) + "fim";
+        assertThrows(IllegalArgumentException.class, () -> VideoTagFilter.parse(tooLong));
+    }
+}
@@ -0,0 +1,127 @@
+package com.holyplay.infrastructure.bunny;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BunnyCircuitBreakerTest {
+
+    private static final long OPEN_MS = 50;
+
+    private final List<String> transitions = new ArrayList<>();
+
+    // Janela de 10, mínimo de 4 chamadas, abre com 50% de falhas, 2 chamadas de teste no meio-aberto
+    private BunnyCircuitBreaker newBreaker() {
+        return new BunnyCircuitBreaker(event -> {
+            if (event instanceof BunnyCircuitStateChangedEvent change) {
+                transitions.add(change.getFrom() + "→" + change.getTo());
+            }
+        }, 10, 4, 0.5, OPEN_MS, 2);
+    }
+
+    private static BunnyCircuitBreaker open(BunnyCircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(BunnyCircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    @Test
+    void naoAbreAntesDoMinimoDeChamadas() {
+        BunnyCircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(BunnyCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void abreQuandoATaxaDeFalhasAtingeOLimite() {
+        BunnyCircuitBreaker breaker = newBreaker();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(BunnyCircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+
+        assertEquals(BunnyCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(List.of("CLOSED→OPEN"), transitions);
+    }
+
+    @Test
+    void falhasAntigasSaemDaJanela() {
+        BunnyCircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess();
+        }
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        // 3 falhas em 7 chamadas; mais sucessos empurram a taxa para baixo
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess();
+        }
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        // Janela: 6 sucessos e 4 falhas
+        assertEquals(BunnyCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void abertoRecusaAteOFimDaEspera() {
+        BunnyCircuitBreaker breaker = open(newBreaker());
+
+        assertTrue(breaker.isRejecting());
+        assertFalse(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(2, breaker.getRejectedCalls());
+    }
+
+    @Test
+    void meioAbertoLimitaAsChamadasDeTesteEFechaComSucesso() throws Exception {
+        BunnyCircuitBreaker breaker = open(newBreaker());
+        Thread.sleep(OPEN_MS + 20);
+
+        assertFalse(breaker.isRejecting());
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(BunnyCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onSuccess();
+        assertEquals(BunnyCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+
+        assertEquals(BunnyCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("CLOSED→OPEN", "OPEN→HALF_OPEN", "HALF_OPEN→CLOSED"), transitions);
+        // Fechado de novo, a janela recomeça: três falhas não bastam para reabrir
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(BunnyCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void falhaNoMeioAbertoReabre() throws Exception {
+        BunnyCircuitBreaker breaker = open(newBreaker());
+        Thread.sleep(OPEN_MS + 20);
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onFailure();
+
+        assertEquals(BunnyCircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isRejecting());
+        assertEquals(2, breaker.getTransitionCount(BunnyCircuitBreaker.State.OPEN));
+        assertEquals(List.of("CLOSED→OPEN", "OPEN→HALF_OPEN", "HALF_OPEN→OPEN"), transitions);
+    }
+}
@@ -0,0 +1,76 @@
+package com.holyplay.infrastructure.bunny;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BunnyRateLimiterTest {
+
+    @Test
+    void filaPublicaRecebeFichasNoRitmoConfigurado() throws Exception {
+        // 20/s, rajada 40, reserva 5 do admin; fila pública espera até 2 s
+        BunnyRateLimiter limiter = new BunnyRateLimiter(20, 40, 5, 10_000, 2_000, 60_000);
+        try {
+            long start = System.nanoTime();
+            ConcurrentLinkedQueue<Long> grantedAtMs = new ConcurrentLinkedQueue<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                CompletableFuture<Void> future = limiter.acquire(BunnyPriority.PUBLIC);
+                future.thenRun(() -> grantedAtMs.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                futures.add(future);
+            }
+            Thread.sleep(1_000);
+
+            // Rajada sem a reserva do admin (35) na hora; depois ~20 por segundo, nunca acima disso
+            long immediate = grantedAtMs.stream().filter(ms -> ms < 40).count();
+            assertEquals(35, immediate);
+            long granted = futures.stream().filter(f -> f.isDone() && !f.isCompletedExceptionally()).count();
+            assertTrue(granted >= 35 + 15, "concedidas " + granted);
+            long firstSecond = grantedAtMs.stream().filter(ms -> ms < 1_000).count();
+            assertTrue(firstSecond <= 35 + 20 + 2, "concedidas no primeiro segundo " + firstSecond);
+        } finally {
+            limiter.destroy();
+        }
+    }
+
+    @Test
+    void adminUsaAReservaEnquantoFilaPublicaAguarda() throws Exception {
+        BunnyRateLimiter limiter = new BunnyRateLimiter(20, 40, 5, 10_000, 2_000, 60_000);
+        try {
+            for (int i = 0; i < 50; i++) {
+                limiter.acquire(BunnyPriority.PUBLIC);
+            }
+            CompletableFuture<Void> admin = limiter.acquire(BunnyPriority.ADMIN);
+            admin.get(200, TimeUnit.MILLISECONDS);
+        } finally {
+            limiter.destroy();
+        }
+    }
+
+    @Test
+    void fichaDevolvidaAtendeQuemEstaNaFila() throws Exception {
+        // 1/s: sem a devolução, a próxima ficha pública só surgiria em ~1 s
+        BunnyRateLimiter limiter = new BunnyRateLimiter(1, 10, 5, 10_000, 5_000, 60_000);
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(limiter.acquire(BunnyPriority.PUBLIC).isDone());
+            }
+            CompletableFuture<Void> waiting = limiter.acquire(BunnyPriority.PUBLIC);
+            assertFalse(waiting.isDone());
+
+            limiter.release();
+
+            waiting.get(300, TimeUnit.MILLISECONDS);
+        } finally {
+            limiter.destroy();
+        }
+    }
+}
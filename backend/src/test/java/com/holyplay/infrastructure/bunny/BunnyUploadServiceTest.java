@@ -0,0 +1,145 @@
+package com.holyplay.infrastructure.bunny;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BunnyUploadServiceTest {
+
+    private static final URI UPLOAD_URI = URI.create("https://video.bunnycdn.com/tusupload/abc");
+    private static final long LENGTH = 100;
+
+    private final BunnyHttpClient client = mock(BunnyHttpClient.class);
+    private final BunnyUploadService service = new BunnyUploadService(client, 24, 60_000);
+    private final ExecutorService background = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void stopBackground() {
+        background.shutdownNow();
+    }
+
+    private static BunnyUploadService.UploadSession newSession() {
+        return new BunnyUploadService.UploadSession("upload-1", "video-1", UPLOAD_URI, 1_700_000_000L, LENGTH);
+    }
+
+    private static InputStream bytes(int length) {
+        return new ByteArrayInputStream(new byte[length]);
+    }
+
+    private void bunnyConfirms(long offset, long chunkLength, long newOffset) {
+        when(client.patchTusUploadAsync(eq(UPLOAD_URI), eq("video-1"), anyLong(), eq(offset), eq(chunkLength),
+                any(InputStream.class), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(newOffset));
+    }
+
+    @Test
+    void pedacoAceitoAvancaOOffsetConfirmadoPelaBunny() {
+        BunnyUploadService.UploadSession session = newSession();
+        bunnyConfirms(0, 40, 40);
+        bunnyConfirms(40, 60, 100);
+
+        assertEquals(40, service.appendChunk(session, 0, 40, bytes(40)));
+        assertEquals(40, session.getOffset());
+        assertFalse(session.isComplete());
+
+        assertEquals(100, service.appendChunk(session, 40, 60, bytes(60)));
+        assertTrue(session.isComplete());
+        assertFalse(session.isTransferring());
+        assertEquals(0, session.getInFlightBytes());
+    }
+
+    @Test
+    void offsetDiferenteDoConfirmadoEhRecusadoSemTocarNaBunny() {
+        BunnyUploadService.UploadSession session = newSession();
+
+        assertThrows(IllegalStateException.class, () -> service.appendChunk(session, 10, 40, bytes(40)));
+
+        assertEquals(0, session.getOffset());
+        assertFalse(session.isTransferring());
+        verify(client, never()).patchTusUploadAsync(any(), any(), anyLong(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void pedacoQuePassaDoTamanhoDeclaradoEhRecusado() {
+        BunnyUploadService.UploadSession session = newSession();
+
+        assertThrows(IllegalStateException.class, () -> service.appendChunk(session, 0, LENGTH + 1, bytes(1)));
+        assertFalse(session.isTransferring());
+    }
+
+    @Test
+    void segundoPedacoDuranteOEnvioEhRecusadoComSessaoEmTransferencia() throws Exception {
+        BunnyUploadService.UploadSession session = newSession();
+        CompletableFuture<Long> slowPatch = new CompletableFuture<>();
+        when(client.patchTusUploadAsync(eq(UPLOAD_URI), eq("video-1"), anyLong(), eq(0L), eq(40L),
+                any(InputStream.class), any(Duration.class)))
+                .thenReturn(slowPatch);
+
+        Future<Long> first = background.submit(() -> service.appendChunk(session, 0, 40, bytes(40)));
+        verify(client, timeout(5_000)).patchTusUploadAsync(any(), any(), anyLong(), eq(0L), eq(40L), any(), any());
+        assertTrue(session.isTransferring());
+
+        // Mesmo offset reenviado pelo cliente enquanto o primeiro pedaço ainda segue para a Bunny
+        assertThrows(IllegalStateException.class, () -> service.appendChunk(session, 0, 40, bytes(40)));
+        assertTrue(session.isTransferring());
+
+        slowPatch.complete(40L);
+        assertEquals(40, first.get(5, TimeUnit.SECONDS));
+        assertFalse(session.isTransferring());
+        assertEquals(40, session.getOffset());
+    }
+
+    @Test
+    void falhaNaBunnyLiberaASessaoSemAvancarOOffset() {
+        BunnyUploadService.UploadSession session = newSession();
+        when(client.patchTusUploadAsync(any(), any(), anyLong(), anyLong(), anyLong(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new BunnyApiException(502, "Bad Gateway")));
+
+        assertThrows(BunnyApiException.class, () -> service.appendChunk(session, 0, 40, bytes(40)));
+
+        assertEquals(0, session.getOffset());
+        assertFalse(session.isTransferring());
+    }
+
+    @Test
+    void retomadaConsultaOOffsetNaBunny() {
+        BunnyUploadService.UploadSession session = newSession();
+        when(client.getTusOffsetAsync(eq(UPLOAD_URI), eq("video-1"), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(64L));
+
+        assertEquals(64, service.syncOffset(session).getOffset());
+    }
+
+    @Test
+    void uploadCompletoNaoConsultaABunnyDeNovo() {
+        BunnyUploadService.UploadSession session = newSession();
+        bunnyConfirms(0, LENGTH, LENGTH);
+        service.appendChunk(session, 0, LENGTH, bytes((int) LENGTH));
+
+        service.syncOffset(session);
+
+        verify(client, never()).getTusOffsetAsync(any(), any(), anyLong());
+    }
+}
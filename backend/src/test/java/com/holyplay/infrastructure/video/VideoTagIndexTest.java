@@ -0,0 +1,205 @@
+package com.holyplay.infrastructure.video;
+
+import com.holyplay.domain.video.VideoTagFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VideoTagIndexTest {
+
+    private static final long LOUVOR = 1;
+    private static final long PREGACOES = 2;
+    private static final long INFANTIL = 3;
+    private static final Map<String, Long> TAGS = Map.of("louvor", LOUVOR, "pregacoes", PREGACOES, "infantil", INFANTIL);
+
+    private final InMemoryTagRepository repository = new InMemoryTagRepository();
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    VideoTagIndexTest() {
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    private VideoTagIndex newIndex() {
+        // Recarga periódica longe o bastante para não rodar durante o teste
+        return new VideoTagIndex(repository, scheduler, 2, 3_600_000);
+    }
+
+    private static VideoTagIndex.Page filter(VideoTagIndex index, String expression, String after, int limit) {
+        return index.filter(VideoTagFilter.parse(expression), TAGS::get, after, limit);
+    }
+
+    private static List<String> all(VideoTagIndex index, String expression, int limit) {
+        List<String> videoIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            VideoTagIndex.Page page = filter(index, expression, cursor, limit);
+            videoIds.addAll(page.getVideoIds());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return videoIds;
+    }
+
+    @Test
+    void combinaTagsComAndOrENot() {
+        repository.put("a", LOUVOR, INFANTIL);
+        repository.put("b", LOUVOR);
+        repository.put("c", PREGACOES, INFANTIL);
+        repository.put("d", PREGACOES);
+        VideoTagIndex index = newIndex();
+
+        assertEquals(List.of("a", "c"), filter(index, "(louvor OR pregacoes) AND infantil", null, 10).getVideoIds());
+        assertEquals(List.of("b", "d"), filter(index, "NOT infantil", null, 10).getVideoIds());
+        assertEquals(List.of("b"), filter(index, "louvor AND NOT infantil", null, 10).getVideoIds());
+        assertEquals(2, filter(index, "louvor", null, 10).getTotal());
+    }
+
+    @Test
+    void paginaPeloCursorAteOFim() {
+        for (String videoId : List.of("v1", "v2", "v3", "v4", "v5")) {
+            repository.put(videoId, LOUVOR);
+        }
+        VideoTagIndex index = newIndex();
+
+        VideoTagIndex.Page first = filter(index, "louvor", null, 2);
+        assertEquals(List.of("v1", "v2"), first.getVideoIds());
+        assertEquals("v2", first.getNextCursor());
+        assertEquals(5, first.getTotal());
+
+        VideoTagIndex.Page last = filter(index, "louvor", "v4", 2);
+        assertEquals(List.of("v5"), last.getVideoIds());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void paginaExataNaoDevolveCursor() {
+        repository.put("v1", LOUVOR);
+        repository.put("v2", LOUVOR);
+        VideoTagIndex index = newIndex();
+
+        VideoTagIndex.Page page = filter(index, "louvor", null, 2);
+        assertEquals(List.of("v1", "v2"), page.getVideoIds());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void videosMarcadosDepoisDaCargaSaemEmOrdemDeVideoId() {
+        repository.put("b", LOUVOR);
+        repository.put("d", LOUVOR);
+        VideoTagIndex index = newIndex();
+        filter(index, "louvor", null, 1);
+
+        index.replace("e", Set.of(LOUVOR));
+        index.replace("a", Set.of(LOUVOR));
+        index.replace("c", Set.of(LOUVOR));
+
+        assertEquals(List.of("a", "b", "c", "d", "e"), all(index, "louvor", 2));
+    }
+
+    @Test
+    void cursorContinuaValidoAposRecarga() {
+        repository.put("b", LOUVOR);
+        repository.put("d", LOUVOR);
+        repository.put("f", LOUVOR);
+        VideoTagIndex before = newIndex();
+        before.replace("a", Set.of(LOUVOR));
+        before.replace("e", Set.of(LOUVOR));
+
+        VideoTagIndex.Page first = filter(before, "louvor", null, 2);
+        assertEquals(List.of("a", "b"), first.getVideoIds());
+
+        // Nova carga a partir do banco: os ordinais mudam, o cursor (video_id) não
+        VideoTagIndex reloaded = newIndex();
+        List<String> rest = new ArrayList<>();
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            VideoTagIndex.Page page = filter(reloaded, "louvor", cursor, 2);
+            rest.addAll(page.getVideoIds());
+            cursor = page.getNextCursor();
+        }
+        assertEquals(List.of("d", "e", "f"), rest);
+    }
+
+    @Test
+    void cursorDeVideoQueNaoEstaMaisNoIndiceSegueAOrdem() {
+        repository.put("a", LOUVOR);
+        repository.put("c", LOUVOR);
+        VideoTagIndex index = newIndex();
+
+        assertEquals(List.of("c"), filter(index, "louvor", "b", 10).getVideoIds());
+    }
+
+    @Test
+    void removerTodasAsTagsTiraOVideoDoUniversoDoNot() {
+        repository.put("a", LOUVOR);
+        repository.put("b", PREGACOES);
+        VideoTagIndex index = newIndex();
+
+        index.replace("b", Set.of());
+
+        assertEquals(List.of("a"), filter(index, "NOT pregacoes", null, 10).getVideoIds());
+        assertEquals(Set.of(), index.tagsOf("b"));
+    }
+
+    @Test
+    void trocaDaCategoriaPrincipalTrocaATag() {
+        repository.put("a", LOUVOR, INFANTIL);
+        VideoTagIndex index = newIndex();
+
+        index.replacePrimaryTag("a", LOUVOR, PREGACOES);
+        assertEquals(Set.of(PREGACOES, INFANTIL), index.tagsOf("a"));
+        assertEquals(Set.of(PREGACOES, INFANTIL), repository.tagsOf("a"));
+
+        index.replacePrimaryTag("b", null, LOUVOR);
+        assertEquals(Set.of(LOUVOR), index.tagsOf("b"));
+    }
+
+    /**
+     * Tabela video_tag_assignment em memória, devolvida em ordem de video_id como a consulta real
+     */
+    private static final class InMemoryTagRepository extends VideoTagJdbcRepository {
+        private final TreeMap<String, TreeSet<Long>> rows = new TreeMap<>();
+
+        InMemoryTagRepository() {
+            super(null);
+        }
+
+        void put(String videoId, Long... tagIds) {
+            rows.put(videoId, new TreeSet<>(List.of(tagIds)));
+        }
+
+        Set<Long> tagsOf(String videoId) {
+            return rows.getOrDefault(videoId, new TreeSet<>());
+        }
+
+        @Override
+        public void forEachTagAssignment(int fetchSize, BiConsumer<String, Long> consumer) {
+            rows.forEach((videoId, tagIds) -> tagIds.forEach(tagId -> consumer.accept(videoId, tagId)));
+        }
+
+        @Override
+        public void replaceTags(String videoId, Set<Long> categoryIds) {
+            if (categoryIds.isEmpty()) {
+                rows.remove(videoId);
+            } else {
+                rows.put(videoId, new TreeSet<>(categoryIds));
+            }
+        }
+    }
+}
@@ -81,16 +81,22 @@ const VideoUpload: React.FC<VideoUploadProps> = ({ onClose, onSuccess }) => {
       setStep('uploading');
       setUploadProgress(0);
 
-      // Passo 1: Criar o vídeo na API (apenas metadados)
-      const videoResponse = await bunnyStreamService.createVideo(title, description);
-      
-      // Passo 2: Upload do arquivo
-      await bunnyStreamService.uploadVideoFile(
-        videoResponse.videoId,
+      // Cria o vídeo e envia o arquivo em pedaços pelo backend (retomável)
+      const videoResponse = await bunnyStreamService.uploadVideo(
+        title,
         file,
         (progress) => setUploadProgress(progress)
       );
 
+      // Descrição vai junto nos metadados da Bunny, como antes
+      if (description) {
+        try {
+          await bunnyStreamService.updateVideo(videoResponse.videoId, title, description);
+        } catch (e) {
+          console.warn('Não foi possível salvar a descrição na Bunny, seguindo assim mesmo:', e);
+        }
+      }
+
       setStep('success');
       setTimeout(() => {
         onSuccess();
@@ -165,13 +165,10 @@ const VideoUploadSimple: React.FC<VideoUploadSimpleProps> = ({ onClose, onSucces
       setUploading(true);
       setStep('uploading');
 
-      // Passo 1: Criar o vídeo (metadados)
-      const created = await bunnyStreamService.createVideo(title.trim(), description.trim() || undefined);
+      // Passos 1 e 2: Criar o vídeo e enviar o arquivo em pedaços pelo backend (retomável)
+      const created = await bunnyStreamService.uploadVideo(title.trim(), file);
       const videoId = created.videoId;
 
-      // Passo 2: Upload do arquivo
-      await bunnyStreamService.uploadVideoFile(videoId, file);
-
       // Passo 2.1: Atualizar metadados
       try {
         await bunnyStreamService.updateVideo(videoId, title.trim(), description.trim() || undefined);
@@ -1,5 +1,6 @@
 // Serviço para integração com Bunny.net Stream API
 import axios from 'axios';
+import { apiFetch, getApiUrl } from '../utils/api';
 
 // Configurações da API (somente via .env do Vite)
 const BUNNY_STREAM_API_BASE = 'https://video.bunnycdn.com';
@@ -38,6 +39,12 @@ const bunnyApi = axios.create({
   },
 });
 
+// Uploads retomáveis pelo backend: pedaços de 8 MB, com algumas tentativas por pedaço
+const UPLOAD_CHUNK_SIZE = 8 * 1024 * 1024;
+const UPLOAD_MAX_RETRIES = 5;
+// 423: o servidor ainda envia um pedaço anterior deste upload; aguarda no máximo 5 min no total
+const UPLOAD_MAX_LOCKED_WAIT_MS = 5 * 60 * 1000;
+
 // Tipos TypeScript
 export interface Video {
   videoId: string;
@@ -54,6 +61,9 @@ export interface Video {
   availableResolutions?: string;
   thumbnailUrl?: string;
   thumbnailFileName?: string; // Nome do arquivo de thumbnail customizado
+  thumbnailWidth?: number; // Dimensões da thumbnail verificada pelo backend
+  thumbnailHeight?: number;
+  thumbnailVersion?: string; // Versão da thumbnail no backend (?v=), permite cache imutável
   storageSize?: number;
   encodeProgress?: number;
 }
@@ -71,6 +81,16 @@ export interface VideoListResponse {
   items: Video[];
 }
 
+// Página da biblioteca servida pelo backend (GET /api/videos/library)
+export type LibrarySort = 'date' | 'title' | 'views';
+
+export interface LibraryPage {
+  items: Video[];
+  nextCursor: string | null;
+  totalItems: number;
+  limit: number;
+}
+
 // Classe do serviço
 // Tipos crus retornados pela API do Bunny
 type RawVideo = {
@@ -91,11 +111,27 @@ type RawVideo = {
   storageSize: number;
 };
 
-type RawVideoListResponse = {
+type RawLibraryItem = {
+  videoId: string;
+  title: string;
+  description?: string;
+  dateUploaded: string;
+  views: number;
+  length: number;
+  status: number;
+  thumbnailFileName?: string;
+  thumbnailUrl?: string | null;
+  thumbnailWidth?: number | null;
+  thumbnailHeight?: number | null;
+  thumbnailVersion?: string | null;
+  category?: string;
+};
+
+type RawLibraryPage = {
+  items: RawLibraryItem[];
+  nextCursor: string | null;
   totalItems: number;
-  currentPage: number;
-  itemsPerPage: number;
-  items: RawVideo[];
+  limit: number;
 };
 
 class BunnyStreamService {
@@ -120,6 +156,25 @@ class BunnyStreamService {
     return video;
   }
 
+  private normalizeLibraryItem(raw: RawLibraryItem): Video {
+    return {
+      videoId: raw.videoId,
+      title: raw.title || 'Sem título',
+      description: raw.description,
+      // URL já verificada pelo backend; ausente quando o vídeo não tem thumbnail
+      thumbnailUrl: raw.thumbnailUrl ?? undefined,
+      thumbnailFileName: raw.thumbnailFileName,
+      thumbnailWidth: raw.thumbnailWidth ?? undefined,
+      thumbnailHeight: raw.thumbnailHeight ?? undefined,
+      thumbnailVersion: raw.thumbnailVersion ?? undefined,
+      status: raw.status,
+      views: raw.views || 0,
+      isPublic: true,
+      length: raw.length || 0,
+      dateUploaded: raw.dateUploaded,
+    };
+  }
+
   // Gera URL de thumbnail priorizando o host CDN configurado (igual ao painel), com fallback para mediadelivery
   private generateThumbnailUrl(videoId: string, _thumbnailFileName?: string): string {
     // 1) Se existir host CDN configurado, usar ele (recomendado pelo painel)
@@ -133,6 +188,14 @@ class BunnyStreamService {
     return mdUrl;
   }
 
+  // Thumbnail servida pelo backend (cache em disco, variantes 320/480/640).
+  // Com a versão (thumbnailVersion da biblioteca) a resposta é imutável e fica no cache do navegador
+  getThumbnailProxyUrl(videoId: string, width: number = 320, version?: string): string {
+    const params = new URLSearchParams({ w: String(width) });
+    if (version) params.set('v', version);
+    return getApiUrl(`/api/videos/${encodeURIComponent(videoId)}/thumbnail?${params.toString()}`);
+  }
+
   // Helper público para obter a URL de thumbnail pelo mediadelivery, com tamanho configurável
   getMediadeliveryThumbnailUrl(videoId: string, width: number = 640): string {
     const params = width ? `?width=${width}` : '';
@@ -153,87 +216,72 @@ class BunnyStreamService {
     return width ? `${base}?width=${width}` : base;
   }
 
-  // Retorna uma lista priorizada de URLs de thumbnail para tentar (sem frames; somente thumbnails)
+  // URL de thumbnail a usar: o backend já resolve a melhor origem, então basta uma
   getPreferredThumbnailUrls(videoId: string): string[] {
-    const urls: (string | undefined)[] = [
-      this.getCdnThumbnailUrl(videoId, 640),
-      this.getCdnThumbnailUrl(videoId, 480),
-      this.getMediadeliveryThumbnailUrl(videoId, 640),
-      this.getMediadeliveryThumbnailUrl(videoId, 480),
-    ];
-    const filtered = urls.filter(Boolean) as string[];
-    return filtered;
+    return [this.getThumbnailProxyUrl(videoId, 640)];
   }
 
-  // Versão orientada ao Video para priorizar o arquivo exato quando existir
+  // Versão orientada ao Video (o backend considera a thumbnail personalizada, se houver)
   getPreferredThumbnailUrlsFromVideo(video: Video): string[] {
-    const urls: (string | undefined)[] = [];
-    // 1) Se houver arquivo específico, prioriza-o no CDN
-    if (video.thumbnailFileName) {
-      urls.push(this.getCdnThumbnailByFileName(video.videoId, video.thumbnailFileName, 640));
-      urls.push(this.getCdnThumbnailByFileName(video.videoId, video.thumbnailFileName, 480));
-    }
-    // 2) Thumbnail padrão do CDN
-    urls.push(this.getCdnThumbnailUrl(video.videoId, 640));
-    urls.push(this.getCdnThumbnailUrl(video.videoId, 480));
-    // 3) Fallback mediadelivery
-    urls.push(this.getMediadeliveryThumbnailUrl(video.videoId, 640));
-    urls.push(this.getMediadeliveryThumbnailUrl(video.videoId, 480));
-
-    const filtered = urls.filter(Boolean) as string[];
-    return filtered;
+    return [this.getThumbnailProxyUrl(video.videoId, 640, video.thumbnailVersion)];
   }
 
-  // =============== Fallback via API (blob/objectURL) ===============
-  // Tenta obter a thumbnail diretamente da API com AccessKey e retorna um ObjectURL utilizável em <img>
+  // =============== Fallback via backend (blob/objectURL) ===============
+  // Baixa a thumbnail pelo backend e retorna um ObjectURL utilizável em <img>
   async getThumbnailObjectUrl(videoId: string, width: number = 640): Promise<string | null> {
     try {
-      // Endpoint experimental: muitas contas permitem GET no mesmo caminho do POST de set thumbnail
-      // Se a API suportar, este GET retornará a imagem já gerada
-      const apiUrl = `${BUNNY_STREAM_API_BASE}/library/${BUNNY_LIBRARY_ID}/videos/${videoId}/thumbnail?width=${width}`;
-      const res = await fetch(apiUrl, {
+      const res = await fetch(this.getThumbnailProxyUrl(videoId, width), {
         method: 'GET',
-        headers: {
-          'AccessKey': BUNNY_API_KEY,
-          'accept': 'image/*'
-        }
+        headers: { 'accept': 'image/*' },
       });
       if (!res.ok) {
-        console.warn(`⚠️ GET thumbnail via API falhou (${res.status}) para ${videoId}`);
+        console.warn(`⚠️ GET thumbnail falhou (${res.status}) para ${videoId}`);
         return null;
       }
       const blob = await res.blob();
-      const objectUrl = URL.createObjectURL(blob);
-      return objectUrl;
+      return URL.createObjectURL(blob);
     } catch (err) {
-      console.error(`❌ Erro ao obter thumbnail via API para ${videoId}:`, err);
+      console.error(`❌ Erro ao obter thumbnail para ${videoId}:`, err);
       return null;
     }
   }
-  // Listar todos os vídeos
-  async getVideos(page: number = 1, itemsPerPage: number = 100): Promise<VideoListResponse> {
+  // Página da biblioteca pelo backend (cacheada no servidor e no navegador via ETag)
+  async getLibraryPage(cursor?: string | null, limit: number = 100, sort: LibrarySort = 'date'): Promise<LibraryPage> {
+    const params = new URLSearchParams({ limit: String(limit), sort });
+    if (cursor) params.set('cursor', cursor);
+    const response = await apiFetch(`/api/videos/library?${params.toString()}`, {
+      headers: { 'accept': 'application/json' },
+    });
+    if (!response.ok) {
+      throw new Error(`HTTP error! status: ${response.status}`);
+    }
+    const data: RawLibraryPage = await response.json();
+    return {
+      items: data.items.map(item => this.normalizeLibraryItem(item)),
+      nextCursor: data.nextCursor,
+      totalItems: data.totalItems,
+      limit: data.limit,
+    };
+  }
+
+  // Listar todos os vídeos (percorre as páginas da biblioteca no backend)
+  async getVideos(itemsPerPage: number = 100): Promise<VideoListResponse> {
     try {
-      const response = await fetch(`https://video.bunnycdn.com/library/${BUNNY_LIBRARY_ID}/videos?page=${page}&itemsPerPage=${itemsPerPage}&orderBy=date`, {
-        method: 'GET',
-        headers: {
-          'AccessKey': BUNNY_API_KEY,
-          'accept': 'application/json',
-        },
-      });
-      
-      if (!response.ok) {
-        throw new Error(`HTTP error! status: ${response.status}`);
-      }
-      
-      const data: RawVideoListResponse = await response.json();
-      
-      const videos = data.items.map(item => this.normalize(item));
-      
+      const items: Video[] = [];
+      let cursor: string | null = null;
+      let totalItems = 0;
+      do {
+        const page: LibraryPage = await this.getLibraryPage(cursor, itemsPerPage);
+        items.push(...page.items);
+        totalItems = page.totalItems;
+        cursor = page.nextCursor;
+      } while (cursor);
+
       return {
-        totalItems: data.totalItems,
-        currentPage: data.currentPage,
-        itemsPerPage: data.itemsPerPage,
-        items: videos,
+        totalItems,
+        currentPage: 1,
+        itemsPerPage: items.length,
+        items,
       };
     } catch (error) {
       console.error('Erro ao buscar vídeos:', error);
@@ -264,59 +312,89 @@ class BunnyStreamService {
     }
   }
 
-  // Criar um novo vídeo (apenas metadados)
-  async createVideo(title: string, description?: string): Promise<VideoUploadResponse> {
-    try {
-      const response = await fetch(`https://video.bunnycdn.com/library/${BUNNY_LIBRARY_ID}/videos`, {
-        method: 'POST',
-        headers: {
-          'AccessKey': BUNNY_API_KEY,
-          'Content-Type': 'application/json',
-          'accept': 'application/json',
-        },
-        body: JSON.stringify({
-          title,
-          description,
-        }),
-      });
-      
-      if (!response.ok) {
-        throw new Error(`HTTP error! status: ${response.status}`);
+  // Upload retomável pelo backend: cria o vídeo e envia o arquivo em pedaços (TUS), sem expor a AccessKey.
+  // Se um pedaço falhar, consulta o offset confirmado (HEAD) e continua de onde parou.
+  async uploadVideo(title: string, file: File, onProgress?: (progress: number) => void): Promise<VideoUploadResponse> {
+    const token = localStorage.getItem('authToken');
+    if (!token) {
+      throw new Error('Token de autenticação não encontrado. Faça login.');
+    }
+    const auth = { 'Authorization': `Bearer ${token}` };
+
+    const startRes = await apiFetch('/api/bunny/uploads', {
+      method: 'POST',
+      headers: { ...auth, 'Content-Type': 'application/json' },
+      body: JSON.stringify({ title, fileName: file.name, length: file.size }),
+    });
+    if (!startRes.ok) {
+      throw new Error(`Falha ao iniciar upload (HTTP ${startRes.status})`);
+    }
+    const started: { uploadId: string; videoId: string } = await startRes.json();
+    const uploadPath = `/api/bunny/uploads/${started.uploadId}`;
+
+    let offset = 0;
+    let failures = 0;
+    let lockedWaitMs = 0;
+    while (offset < file.size) {
+      const chunk = file.slice(offset, Math.min(offset + UPLOAD_CHUNK_SIZE, file.size));
+      try {
+        const res = await apiFetch(uploadPath, {
+          method: 'PATCH',
+          headers: {
+            ...auth,
+            'Tus-Resumable': '1.0.0',
+            'Upload-Offset': String(offset),
+            'Content-Type': 'application/offset+octet-stream',
+          },
+          body: chunk,
+        });
+        if (res.status === 423) {
+          // Pedaço anterior ainda em andamento no servidor: aguarda o Retry-After antes de reenviar
+          const waitMs = (Number(res.headers.get('Retry-After')) || 5) * 1000;
+          lockedWaitMs += waitMs;
+          if (lockedWaitMs > UPLOAD_MAX_LOCKED_WAIT_MS) {
+            throw new Error('Upload bloqueado por um envio anterior que não terminou');
+          }
+          await new Promise(resolve => setTimeout(resolve, waitMs));
+          offset = await this.getUploadOffset(uploadPath, auth);
+          continue;
+        }
+        if (!res.ok && res.status !== 409) {
+          throw new Error(`HTTP ${res.status}`);
+        }
+        const confirmed = res.headers.get('Upload-Offset');
+        const next = confirmed !== null ? Number(confirmed) : await this.getUploadOffset(uploadPath, auth);
+        if (res.status === 409 && next === offset) {
+          // Conflito sem avanço: reenviar na hora repetiria o mesmo pedaço; segue pelo caminho com espera
+          throw new Error('HTTP 409 sem avanço do offset');
+        }
+        offset = next;
+        failures = 0;
+        lockedWaitMs = 0;
+      } catch (error) {
+        if (++failures > UPLOAD_MAX_RETRIES) {
+          console.error('Erro ao fazer upload do vídeo:', error);
+          throw error;
+        }
+        console.warn(`⚠️ Pedaço do upload falhou, retomando (tentativa ${failures}):`, error);
+        await new Promise(resolve => setTimeout(resolve, 1000 * failures));
+        offset = await this.getUploadOffset(uploadPath, auth);
+      }
+      if (onProgress) {
+        onProgress(Math.round((offset * 100) / file.size));
       }
-      
-      const data: RawVideo = await response.json();
-      return {
-        videoId: data.guid,
-        title: data.title,
-        status: data.status,
-      };
-    } catch (error) {
-      console.error('Erro ao criar vídeo:', error);
-      throw error;
     }
+
+    return { videoId: started.videoId, title, status: 0 };
   }
 
-  // Upload do arquivo de vídeo
-  async uploadVideoFile(videoId: string, file: File, onProgress?: (progress: number) => void): Promise<void> {
-    try {
-      const uploadUrl = `${BUNNY_STREAM_API_BASE}/library/${BUNNY_LIBRARY_ID}/videos/${videoId}`;
-      
-      await axios.put(uploadUrl, file, {
-        headers: {
-          'AccessKey': BUNNY_API_KEY,
-          'Content-Type': 'application/octet-stream',
-        },
-        onUploadProgress: (progressEvent) => {
-          if (onProgress && progressEvent.total) {
-            const progress = Math.round((progressEvent.loaded * 100) / progressEvent.total);
-            onProgress(progress);
-          }
-        },
-      });
-    } catch (error) {
-      console.error('Erro ao fazer upload do vídeo:', error);
-      throw error;
+  private async getUploadOffset(uploadPath: string, auth: Record<string, string>): Promise<number> {
+    const res = await apiFetch(uploadPath, { method: 'HEAD', headers: { ...auth, 'Tus-Resumable': '1.0.0' } });
+    const offset = res.headers.get('Upload-Offset');
+    if (!res.ok || offset === null) {
+      throw new Error(`Não foi possível consultar o progresso do upload (HTTP ${res.status})`);
     }
+    return Number(offset);
   }
 
   // Atualizar metadados do vídeo
@@ -378,22 +456,9 @@ class BunnyStreamService {
     return this.getThumbnailUrl(video.videoId, width);
   }
 
-  // Candidatos alternativos de thumbnail
+  // Candidatos de thumbnail: uma única URL, resolvida e cacheada pelo backend
   getThumbnailCandidates(videoId: string, width: number = 320): string[] {
-    return [
-      // URLs diretas do CDN (mais confiáveis)
-      this.getThumbnailUrl(videoId, width),
-      this.getThumbnailUrl(videoId, width, 1),
-      this.getThumbnailUrl(videoId, width, 5),
-      this.getThumbnailUrl(videoId, width, 10),
-      // Sem parâmetros (thumbnail padrão)
-      `https://vz-${BUNNY_LIBRARY_ID}.b-cdn.net/${videoId}/thumbnail.jpg`,
-      // Endpoint do mediadelivery (pode não estar habilitado)
-      `https://iframe.mediadelivery.net/thumbnail/${BUNNY_LIBRARY_ID}/${videoId}?width=${width}`,
-      // Variações de tamanho
-      this.getThumbnailUrl(videoId, 256),
-      this.getThumbnailUrl(videoId, 480),
-    ];
+    return [this.getThumbnailProxyUrl(videoId, width)];
   }
 
   // Gerar thumbnail a partir de frame do vídeo (alternativa quando thumbnails não existem)
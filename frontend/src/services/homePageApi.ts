@@ -11,6 +11,9 @@ export interface HomeVideo {
   category: string;
   new: boolean;
   featured: boolean;
+  degraded?: boolean; // dados da Bunny não chegaram a tempo no backend
+  thumbnailWidth?: number; // dimensões da thumbnail verificada pelo backend
+  thumbnailHeight?: number;
 }
 
 export interface HomeSection {
@@ -21,6 +24,7 @@ export interface HomeSection {
 
 export interface HomePageData {
   sections: HomeSection[];
+  partial?: boolean;
 }
 
 /**